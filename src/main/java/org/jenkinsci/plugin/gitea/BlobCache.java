@@ -0,0 +1,204 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2017, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugin.gitea;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import jenkins.util.SystemProperties;
+
+/**
+ * A bounded, least recently used, content addressed cache of file contents shared by all the
+ * {@link GiteaSCMFileSystem} instances, so that a file such as a {@code Jenkinsfile} which is identical across many
+ * heads and scans is only downloaded once. Entries are keyed by repository and by the SHA1 of the blob, or by the
+ * SHA1 of the commit and the path of the file as those are immutable too. The bound is controlled by the
+ * {@code org.jenkinsci.plugin.gitea.BlobCache.maxBytes} system property, setting it to {@code 0} disables the cache.
+ */
+final class BlobCache {
+
+    /**
+     * The maximum total size of the contents to retain.
+     */
+    static final long MAX_BYTES = Math.max(0L, SystemProperties.getLong(
+            BlobCache.class.getName() + ".maxBytes", 32L * 1024 * 1024));
+
+    /**
+     * The shared instance.
+     */
+    static final BlobCache INSTANCE = new BlobCache(MAX_BYTES);
+
+    /**
+     * Matches a full SHA1, i.e. a ref that cannot move.
+     */
+    private static final Pattern SHA1 = Pattern.compile("[0-9a-fA-F]{40}");
+
+    private final long maxBytes;
+
+    /**
+     * The contents in access order, guarded by {@code this}.
+     */
+    private final LinkedHashMap<String, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * The total size of the contents in {@link #entries}, guarded by {@code this}.
+     */
+    private long bytes;
+
+    private long hits;
+
+    private long misses;
+
+    private long evictions;
+
+    BlobCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Computes the cache key for a blob.
+     *
+     * @param repository the URL of the repository.
+     * @param sha        the SHA1 of the blob.
+     * @return the cache key.
+     */
+    @NonNull
+    static String blobKey(@NonNull String repository, @NonNull String sha) {
+        return repository + " blob " + sha.toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * Computes the cache key for a file at a revision.
+     *
+     * @param repository the URL of the repository.
+     * @param ref        the ref.
+     * @param path       the path of the file.
+     * @return the cache key or {@code null} if the ref is not a commit SHA1 and so the contents could change.
+     */
+    @CheckForNull
+    static String fileKey(@NonNull String repository, @NonNull String ref, @NonNull String path) {
+        return SHA1.matcher(ref).matches()
+                ? repository + " commit " + ref.toLowerCase(Locale.ENGLISH) + " " + path
+                : null;
+    }
+
+    boolean isEnabled() {
+        return maxBytes > 0;
+    }
+
+    /**
+     * Gets the cached contents. The returned array must not be modified.
+     *
+     * @param key the key.
+     * @return the contents or {@code null} if not cached.
+     */
+    @CheckForNull
+    synchronized byte[] get(@NonNull String key) {
+        byte[] content = entries.get(key);
+        if (content == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return content;
+    }
+
+    /**
+     * Caches the contents. The array must not be modified afterwards.
+     *
+     * @param key     the key.
+     * @param content the contents.
+     */
+    synchronized void put(@NonNull String key, @NonNull byte[] content) {
+        if (content.length > maxBytes) {
+            return;
+        }
+        byte[] previous = entries.put(key, content);
+        if (previous != null) {
+            bytes -= previous.length;
+        }
+        bytes += content.length;
+        for (Iterator<byte[]> iterator = entries.values().iterator(); iterator.hasNext() && bytes > maxBytes; ) {
+            bytes -= iterator.next().length;
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized long bytes() {
+        return bytes;
+    }
+
+    /**
+     * Returns the number of lookups that were answered from the cache.
+     *
+     * @return the number of hits.
+     */
+    synchronized long hits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of lookups that had to be fetched.
+     *
+     * @return the number of misses.
+     */
+    synchronized long misses() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of entries removed to keep within the size bound.
+     *
+     * @return the number of evictions.
+     */
+    synchronized long evictions() {
+        return evictions;
+    }
+
+    synchronized void clear() {
+        entries.clear();
+        bytes = 0L;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized String toString() {
+        return "BlobCache{"
+                + "entries=" + entries.size()
+                + ", bytes=" + bytes
+                + ", hits=" + hits
+                + ", misses=" + misses
+                + ", evictions=" + evictions
+                + '}';
+    }
+}
@@ -39,9 +39,7 @@ import jenkins.scm.api.trait.SCMSourceRequest;
 import jenkins.scm.api.trait.SCMSourceTrait;
 import jenkins.scm.api.trait.SCMSourceTraitDescriptor;
 import jenkins.scm.impl.trait.Discovery;
-import org.apache.commons.lang.StringUtils;
 import org.jenkinsci.Symbol;
-import org.jenkinsci.plugin.gitea.client.api.GiteaPullRequest;
 import org.kohsuke.accmod.Restricted;
 import org.kohsuke.accmod.restrictions.NoExternalUse;
 import org.kohsuke.stapler.DataBoundConstructor;
@@ -127,14 +125,17 @@ public class BranchDiscoveryTrait extends SCMSourceTrait {
         switch (strategyId) {
             case 1:
                 ctx.wantOriginPRs(true);
+                ctx.withBranchesFilteredByPRs(true);
                 ctx.withFilter(new ExcludeOriginPRBranchesSCMHeadFilter());
                 break;
             case 2:
                 ctx.wantOriginPRs(true);
+                ctx.withBranchesFilteredByPRs(true);
                 ctx.withFilter(new OnlyOriginPRBranchesSCMHeadFilter());
                 break;
             case 4:
                 ctx.wantOriginPRs(true);
+                ctx.withBranchesFilteredByPRs(true);
                 ctx.withFilter(new OriginPRBranchesOrMainSCMHeadFilter());
                 break;
             case 3:
@@ -250,27 +251,11 @@ public class BranchDiscoveryTrait extends SCMSourceTrait {
         @Override
         public boolean isExcluded(@NonNull SCMSourceRequest request, @NonNull SCMHead head) {
             if (head instanceof BranchSCMHead && request instanceof GiteaSCMSourceRequest) {
-                for (GiteaPullRequest p : ((GiteaSCMSourceRequest) request).getPullRequests()) {
-                    if (p.getHead() == null || p.getHead().getRepo() == null
-                            || p.getHead().getRepo().getOwner() == null
-                            || p.getHead().getRepo().getName() == null
-                            || p.getHead().getRef() == null
-                    ) {
-                        // the head has already been deleted, so ignore as we cannot build yet JENKINS-60825
-                        // TODO figure out if we can build a PR who's head has been deleted as it should be possible
-                        return true;
-                    }
-                    // only match if the pull request is an origin pull request
-                    if (StringUtils.equalsIgnoreCase(
-                            p.getBase().getRepo().getOwner().getUsername(),
-                            p.getHead().getRepo().getOwner().getUsername())
-                            && StringUtils.equalsIgnoreCase(
-                            p.getBase().getRepo().getName(),
-                            p.getHead().getRepo().getName())
-                            && StringUtils.equals(p.getHead().getRef(), head.getName())) {
-                        return true;
-                    }
-                }
+                GiteaSCMSourceRequest giteaRequest = (GiteaSCMSourceRequest) request;
+                // if the head of a pull request has already been deleted, ignore as we cannot build yet JENKINS-60825
+                // TODO figure out if we can build a PR who's head has been deleted as it should be possible
+                return giteaRequest.hasPullRequestWithDeletedHead()
+                        || giteaRequest.getOriginPullRequestHeadRefs().contains(head.getName());
             }
             return false;
         }
@@ -286,27 +271,8 @@ public class BranchDiscoveryTrait extends SCMSourceTrait {
         @Override
         public boolean isExcluded(@NonNull SCMSourceRequest request, @NonNull SCMHead head) {
             if (head instanceof BranchSCMHead && request instanceof GiteaSCMSourceRequest) {
-                for (GiteaPullRequest p : ((GiteaSCMSourceRequest) request).getPullRequests()) {
-                    if (p.getHead() == null || p.getHead().getRepo() == null
-                            || p.getHead().getRepo().getOwner() == null
-                            || p.getHead().getRepo().getName() == null
-                            || p.getHead().getRef() == null
-                    ) {
-                        // the head has already been deleted, so ignore as we cannot build yet JENKINS-60825
-                        // TODO figure out if we can build a PR who's head has been deleted as it should be possible
-                        return true;
-                    }
-                    if (StringUtils.equalsIgnoreCase(
-                            p.getBase().getRepo().getOwner().getUsername(),
-                            p.getHead().getRepo().getOwner().getUsername())
-                            && StringUtils.equalsIgnoreCase(
-                                    p.getBase().getRepo().getName(),
-                            p.getHead().getRepo().getName())
-                            && StringUtils.equals(p.getHead().getRef(), head.getName())) {
-                        return false;
-                    }
-                }
-                return true;
+                // only the pull requests before one whose head has already been deleted count, JENKINS-60825
+                return !((GiteaSCMSourceRequest) request).getOriginPullRequestHeadRefs().contains(head.getName());
             }
             return false;
         }
@@ -326,27 +292,8 @@ public class BranchDiscoveryTrait extends SCMSourceTrait {
                 if (head.getName().equalsIgnoreCase( "master") || head.getName().equalsIgnoreCase("main")) {
                     return false;
                 }
-                for (GiteaPullRequest p : ((GiteaSCMSourceRequest) request).getPullRequests()) {
-                    if (p.getHead() == null || p.getHead().getRepo() == null
-                            || p.getHead().getRepo().getOwner() == null
-                            || p.getHead().getRepo().getName() == null
-                            || p.getHead().getRef() == null
-                    ) {
-                        // the head has already been deleted, so ignore as we cannot build yet JENKINS-60825
-                        // TODO figure out if we can build a PR who's head has been deleted as it should be possible
-                        return true;
-                    }
-                    if (StringUtils.equalsIgnoreCase(
-                            p.getBase().getRepo().getOwner().getUsername(),
-                            p.getHead().getRepo().getOwner().getUsername())
-                            && StringUtils.equalsIgnoreCase(
-                            p.getBase().getRepo().getName(),
-                            p.getHead().getRepo().getName())
-                            && StringUtils.equals(p.getHead().getRef(), head.getName())) {
-                        return false;
-                    }
-                }
-                return true;
+                // only the pull requests before one whose head has already been deleted count, JENKINS-60825
+                return !((GiteaSCMSourceRequest) request).getOriginPullRequestHeadRefs().contains(head.getName());
             }
             return false;
         }
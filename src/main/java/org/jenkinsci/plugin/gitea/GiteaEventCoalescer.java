@@ -0,0 +1,215 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2017, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugin.gitea;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jenkins.scm.api.SCMHeadEvent;
+import jenkins.util.SystemProperties;
+import jenkins.util.Timer;
+import org.jenkinsci.plugin.gitea.client.api.GiteaRepository;
+import org.jenkinsci.plugin.gitea.servers.GiteaServers;
+
+/**
+ * Holds back {@link SCMHeadEvent}s for a short quiet period so that a burst of events for the same head (such as the
+ * pushes of a {@code git push --mirror}) is fired as a single event. The quiet period starts with the first event for
+ * a key and is set in milliseconds by the {@code org.jenkinsci.plugin.gitea.GiteaEventCoalescer.quietPeriod} system
+ * property, setting it to {@code 0} fires every event immediately.
+ */
+final class GiteaEventCoalescer {
+    private static final Logger LOGGER = Logger.getLogger(GiteaEventCoalescer.class.getName());
+
+    /**
+     * The number of milliseconds to hold back the first event for a key.
+     */
+    static final long QUIET_PERIOD = Math.max(0L, SystemProperties.getLong(
+            GiteaEventCoalescer.class.getName() + ".quietPeriod", 1000L));
+
+    private static final GiteaEventCoalescer INSTANCE =
+            new GiteaEventCoalescer(QUIET_PERIOD, Timer::get, SCMHeadEvent::fireNow);
+
+    private final long quietPeriod;
+    private final Supplier<ScheduledExecutorService> timer;
+    private final Consumer<SCMHeadEvent<?>> dispatcher;
+    /**
+     * The held back event for each key, guarded by {@code this}.
+     */
+    private final Map<String, SCMHeadEvent<?>> pending = new HashMap<>();
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong fired = new AtomicLong();
+
+    GiteaEventCoalescer(long quietPeriod, @NonNull Supplier<ScheduledExecutorService> timer,
+                        @NonNull Consumer<SCMHeadEvent<?>> dispatcher) {
+        this.quietPeriod = quietPeriod;
+        this.timer = timer;
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * Returns the shared coalescer.
+     *
+     * @return the shared coalescer.
+     */
+    @NonNull
+    static GiteaEventCoalescer get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Submits an event to be fired once the quiet period for its key has elapsed.
+     *
+     * @param key   the key of the head that the event is about.
+     * @param event the event.
+     * @param merge merges the held back event for the key with a newer one, returning {@code null} if the newer event
+     *              cannot supersede the held back one, in which case the held back event is fired at once.
+     * @param <E>   the type of event.
+     */
+    @SuppressWarnings("unchecked")
+    <E extends SCMHeadEvent<?>> void submit(@NonNull String key, @NonNull E event,
+                                            @NonNull BinaryOperator<E> merge) {
+        submitted.incrementAndGet();
+        if (quietPeriod <= 0) {
+            fire(event);
+            return;
+        }
+        SCMHeadEvent<?> superseded = null;
+        synchronized (this) {
+            E previous = (E) pending.get(key);
+            if (previous == null) {
+                pending.put(key, event);
+                timer.get().schedule(() -> flush(key), quietPeriod, TimeUnit.MILLISECONDS);
+            } else {
+                E merged = merge.apply(previous, event);
+                if (merged != null) {
+                    coalesced.incrementAndGet();
+                    pending.put(key, merged);
+                } else {
+                    superseded = previous;
+                    pending.put(key, event);
+                }
+            }
+        }
+        if (superseded != null) {
+            fire(superseded);
+        }
+    }
+
+    private void flush(String key) {
+        SCMHeadEvent<?> event;
+        synchronized (this) {
+            event = pending.remove(key);
+        }
+        if (event != null) {
+            fire(event);
+        }
+    }
+
+    private void fire(SCMHeadEvent<?> event) {
+        fired.incrementAndGet();
+        try {
+            dispatcher.accept(event);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Could not fire " + event, e);
+        }
+    }
+
+    /**
+     * Returns the number of events waiting for their quiet period to elapse.
+     *
+     * @return the number of events waiting for their quiet period to elapse.
+     */
+    synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Returns the number of events submitted.
+     *
+     * @return the number of events submitted.
+     */
+    long getSubmittedCount() {
+        return submitted.get();
+    }
+
+    /**
+     * Returns the number of events merged into a held back event.
+     *
+     * @return the number of events merged into a held back event.
+     */
+    long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    /**
+     * Returns the number of events fired.
+     *
+     * @return the number of events fired.
+     */
+    long getFiredCount() {
+        return fired.get();
+    }
+
+    /**
+     * Builds the key of a head, the URL of the repository identifying the server, owner and repository.
+     *
+     * @param repository the repository.
+     * @param head       identifies the head within the repository.
+     * @return the key.
+     */
+    @NonNull
+    static String keyOf(@NonNull GiteaRepository repository, @NonNull String head) {
+        String url = repository.getHtmlUrl();
+        if (url == null) {
+            url = (repository.getOwner() == null ? null : repository.getOwner().getUsername()) + "/"
+                    + repository.getName();
+        } else {
+            url = GiteaServers.normalizeServerUrl(url);
+        }
+        return url + "::" + head;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "GiteaEventCoalescer{"
+                + "quietPeriod=" + quietPeriod
+                + ", pending=" + getPendingCount()
+                + ", submitted=" + submitted
+                + ", coalesced=" + coalesced
+                + ", fired=" + fired
+                + '}';
+    }
+}
@@ -82,6 +82,19 @@ public class GiteaPullSCMEvent extends AbstractGiteaSCMHeadEvent<GiteaPullReques
         return Type.UPDATED;
     }
 
+    /**
+     * Merges an update of a pull request with a later update of the same pull request, openings and closings are
+     * never merged so that they are always fired.
+     *
+     * @param previous the earlier event.
+     * @param next     the later event.
+     * @return the later event or {@code null} if the events cannot be merged.
+     */
+    @CheckForNull
+    static GiteaPullSCMEvent merge(@NonNull GiteaPullSCMEvent previous, @NonNull GiteaPullSCMEvent next) {
+        return previous.getType() == Type.UPDATED && next.getType() == Type.UPDATED ? next : null;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -255,7 +268,10 @@ public class GiteaPullSCMEvent extends AbstractGiteaSCMHeadEvent<GiteaPullReques
          */
         @Override
         protected void process(GiteaPullSCMEvent event) {
-            SCMHeadEvent.fireNow(event);
+            GiteaPullRequestEvent payload = event.getPayload();
+            GiteaEventCoalescer.get().submit(
+                    GiteaEventCoalescer.keyOf(payload.getRepository(), "pull::" + payload.getNumber()),
+                    event, GiteaPullSCMEvent::merge);
         }
     }
 }
@@ -78,6 +78,27 @@ public class GiteaPushSCMEvent extends AbstractGiteaSCMHeadEvent<GiteaPushEvent>
         return Type.UPDATED;
     }
 
+    /**
+     * Merges a push with a later push to the same ref, so that only the latest {@link GiteaPushEvent#getAfter()} is
+     * dispatched while the {@link GiteaPushEvent#getBefore()} of the earlier push keeps a creation a creation.
+     *
+     * @param previous the earlier push.
+     * @param next     the later push.
+     * @return the merged push or {@code null} if a removal is followed by another push and both must be fired.
+     */
+    @CheckForNull
+    static GiteaPushSCMEvent merge(@NonNull GiteaPushSCMEvent previous, @NonNull GiteaPushSCMEvent next) {
+        if (previous.getType() == Type.REMOVED) {
+            return next.getType() == Type.REMOVED ? next : null;
+        }
+        if (next.getType() == Type.REMOVED) {
+            return next;
+        }
+        GiteaPushEvent payload = next.getPayload().clone();
+        payload.setBefore(previous.getPayload().getBefore());
+        return new GiteaPushSCMEvent(payload, next.getOrigin());
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -181,7 +202,10 @@ public class GiteaPushSCMEvent extends AbstractGiteaSCMHeadEvent<GiteaPushEvent>
          */
         @Override
         protected void process(GiteaPushSCMEvent event) {
-            SCMHeadEvent.fireNow(event);
+            GiteaPushEvent payload = event.getPayload();
+            GiteaEventCoalescer.get().submit(
+                    GiteaEventCoalescer.keyOf(payload.getRepository(), "push::" + payload.getRef()),
+                    event, GiteaPushSCMEvent::merge);
         }
     }
 }
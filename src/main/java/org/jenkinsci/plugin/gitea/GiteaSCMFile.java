@@ -23,21 +23,41 @@
  */
 package org.jenkinsci.plugin.gitea;
 
+import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.util.VersionNumber;
 import java.io.ByteArrayInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import jenkins.scm.api.SCMFile;
+import org.apache.commons.lang.StringUtils;
 import org.jenkinsci.plugin.gitea.client.api.GiteaConnection;
+import org.jenkinsci.plugin.gitea.client.api.GiteaHttpStatusException;
 import org.jenkinsci.plugin.gitea.client.api.GiteaRepository;
+import org.jenkinsci.plugin.gitea.client.api.GiteaTree;
+import org.jenkinsci.plugin.gitea.client.api.GiteaVersion;
 
 class GiteaSCMFile extends SCMFile {
 
+    /**
+     * The first version of Gitea with the git trees API.
+     */
+    static final VersionNumber TREE_SUPPORT_MINIMUM_VERSION = new VersionNumber("1.7.0");
+
     private final GiteaConnection connection;
     private final GiteaRepository repo;
     private final String ref;
+    /**
+     * The directory listings, shared by all the files of the same root.
+     */
+    private final Listings listings;
     private Boolean isFile;
 
     GiteaSCMFile(GiteaConnection connection, GiteaRepository repo, String ref) {
@@ -46,6 +66,7 @@ class GiteaSCMFile extends SCMFile {
         type(Type.DIRECTORY);
         this.repo = repo;
         this.ref = ref;
+        this.listings = new Listings();
     }
 
     private GiteaSCMFile(@NonNull GiteaSCMFile parent, String name, Boolean isFile) {
@@ -53,6 +74,7 @@ class GiteaSCMFile extends SCMFile {
         this.connection = parent.connection;
         this.repo = parent.repo;
         this.ref = parent.ref;
+        this.listings = parent.listings;
         this.isFile = isFile;
     }
 
@@ -64,9 +86,18 @@ class GiteaSCMFile extends SCMFile {
 
     @NonNull
     @Override
-    public Iterable<SCMFile> children() throws IOException {
-        // TODO once https://github.com/go-gitea/gitea/issues/1978
-        return Collections.emptyList();
+    public Iterable<SCMFile> children() throws IOException, InterruptedException {
+        Map<String, GiteaTree.Entry> listing = listing(getPath());
+        if (listing == null) {
+            return Collections.emptyList();
+        }
+        List<SCMFile> result = new ArrayList<>(listing.size());
+        for (GiteaTree.Entry entry : listing.values()) {
+            GiteaSCMFile child = new GiteaSCMFile(this, entry.getPath(), null);
+            child.type(typeOf(entry));
+            result.add(child);
+        }
+        return result;
     }
 
     @Override
@@ -78,7 +109,11 @@ class GiteaSCMFile extends SCMFile {
     @NonNull
     @Override
     protected Type type() throws IOException, InterruptedException {
-        // TODO once https://github.com/go-gitea/gitea/issues/1978
+        Map<String, GiteaTree.Entry> listing = isRoot() ? null : listing(getParent().getPath());
+        if (listings.supported) {
+            GiteaTree.Entry entry = listing == null ? null : listing.get(getName());
+            return entry == null ? Type.NONEXISTENT : typeOf(entry);
+        }
         if (isFile == null) {
             isFile = connection.checkFile(repo, ref, getPath());
         }
@@ -91,13 +126,154 @@ class GiteaSCMFile extends SCMFile {
         if (isFile != null && !isFile) {
             throw new FileNotFoundException(getPath());
         }
+        if (listings.supported && !isRoot()) {
+            // the listing is needed for type() anyway and saves downloading what is not there
+            Type type = type();
+            if (type != Type.REGULAR_FILE && type != Type.LINK && listings.supported) {
+                throw new FileNotFoundException(getPath());
+            }
+        }
+        // identical files are shared by many heads, so only download each blob once
+        String key = cacheKey();
+        byte[] content = key == null ? null : BlobCache.INSTANCE.get(key);
+        if (content == null) {
+            try {
+                content = connection.fetchFile(repo, ref, getPath());
+            } catch (FileNotFoundException e) {
+                isFile = false;
+                throw e;
+            }
+            if (key != null) {
+                BlobCache.INSTANCE.put(key, content);
+            }
+        }
+        isFile = true;
+        return new ByteArrayInputStream(content);
+    }
+
+    /**
+     * Returns the key of the contents in the {@link BlobCache}.
+     *
+     * @return the key or {@code null} if the contents cannot be cached.
+     * @throws IOException          if there was a communication error.
+     * @throws InterruptedException if interrupted.
+     */
+    @CheckForNull
+    private String cacheKey() throws IOException, InterruptedException {
+        if (!BlobCache.INSTANCE.isEnabled() || isRoot()) {
+            return null;
+        }
+        String repository = StringUtils.defaultIfBlank(repo.getHtmlUrl(), repo.getFullName());
+        if (repository == null) {
+            return null;
+        }
+        if (listings.supported) {
+            Map<String, GiteaTree.Entry> listing = listing(getParent().getPath());
+            GiteaTree.Entry entry = listing == null ? null : listing.get(getName());
+            if (entry != null && entry.getSha() != null
+                    && !GiteaTree.Entry.MODE_SYMLINK.equals(entry.getMode())) {
+                return BlobCache.blobKey(repository, entry.getSha());
+            }
+        }
+        return BlobCache.fileKey(repository, ref, getPath());
+    }
+
+    /**
+     * Lists a directory, fetching each directory of the revision at most once.
+     *
+     * @param path the path of the directory.
+     * @return the entries of the directory by name or {@code null} if the path is not a directory or if the server
+     * does not support listing trees.
+     * @throws IOException          if there was a communication error.
+     * @throws InterruptedException if interrupted.
+     */
+    @CheckForNull
+    private Map<String, GiteaTree.Entry> listing(@NonNull String path) throws IOException, InterruptedException {
+        synchronized (listings) {
+            if (listings.directories.containsKey(path)) {
+                return listings.directories.get(path);
+            }
+        }
+        String sha;
+        if (path.isEmpty()) {
+            sha = ref;
+        } else {
+            int index = path.lastIndexOf('/');
+            Map<String, GiteaTree.Entry> parent = listing(index == -1 ? "" : path.substring(0, index));
+            GiteaTree.Entry entry = parent == null ? null : parent.get(path.substring(index + 1));
+            sha = entry != null && "tree".equals(entry.getType()) ? entry.getSha() : null;
+        }
+        Map<String, GiteaTree.Entry> result = null;
+        if (sha != null && listings.supported) {
+            try {
+                GiteaTree tree = connection.fetchTree(repo, sha);
+                if (tree == null) {
+                    // the connection cannot list trees, fall back to checking each file
+                    listings.supported = false;
+                } else {
+                    result = new LinkedHashMap<>();
+                    for (GiteaTree.Entry entry : tree.getTree()) {
+                        result.put(entry.getPath(), entry);
+                    }
+                }
+            } catch (GiteaHttpStatusException e) {
+                int status = e.getStatusCode();
+                if (path.isEmpty() && (status == 404 || status == 405) && !supportsTrees()) {
+                    // servers without the git trees API, fall back to checking each file
+                    listings.supported = false;
+                } else if (status != 404) {
+                    // authentication and server errors say nothing about the contents of the revision
+                    throw e;
+                }
+                // otherwise the revision or directory does not exist
+                result = null;
+            }
+        }
+        synchronized (listings) {
+            listings.directories.put(path, result);
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether the server version has the git trees API.
+     *
+     * @return {@code false} only if the server is known to be too old to list trees.
+     * @throws InterruptedException if interrupted.
+     */
+    private boolean supportsTrees() throws InterruptedException {
         try {
-            byte[] content = connection.fetchFile(repo, ref, getPath());
-            isFile = true;
-            return new ByteArrayInputStream(content);
-        } catch (FileNotFoundException e) {
-            isFile = false;
-            throw e;
+            GiteaVersion version = connection.fetchVersion();
+            return version == null || version.getVersion() == null
+                    || version.getVersionNumber().isNewerThanOrEqualTo(TREE_SUPPORT_MINIMUM_VERSION);
+        } catch (IOException e) {
+            // unknown, so do not assume the API is missing
+            return true;
         }
     }
+
+    private static Type typeOf(GiteaTree.Entry entry) {
+        if ("tree".equals(entry.getType())) {
+            return Type.DIRECTORY;
+        }
+        if ("blob".equals(entry.getType())) {
+            return GiteaTree.Entry.MODE_SYMLINK.equals(entry.getMode()) ? Type.LINK : Type.REGULAR_FILE;
+        }
+        // submodules
+        return Type.OTHER;
+    }
+
+    /**
+     * The directory listings of a revision.
+     */
+    private static final class Listings {
+        /**
+         * The entries of each directory by path, {@code null} values for paths that are not directories.
+         */
+        private final Map<String, Map<String, GiteaTree.Entry>> directories = new HashMap<>();
+        /**
+         * {@code false} once the server has been found not to support listing trees.
+         */
+        private volatile boolean supported = true;
+    }
 }
@@ -36,6 +36,8 @@ import hudson.scm.SCM;
 import hudson.scm.SCMDescriptor;
 import hudson.security.ACL;
 import java.io.IOException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import jenkins.authentication.tokens.api.AuthenticationTokens;
 import jenkins.scm.api.SCMFile;
 import jenkins.scm.api.SCMFileSystem;
@@ -52,6 +54,7 @@ import org.jenkinsci.plugin.gitea.client.api.GiteaConnection;
 import org.jenkinsci.plugin.gitea.client.api.GiteaRepository;
 
 public class GiteaSCMFileSystem extends SCMFileSystem {
+    private static final Logger LOGGER = Logger.getLogger(GiteaSCMFileSystem.class.getName());
     private final GiteaConnection connection;
     private final GiteaRepository repo;
     private final String ref;
@@ -80,6 +83,8 @@ public class GiteaSCMFileSystem extends SCMFileSystem {
 
     @Override
     public void close() throws IOException {
+        LOGGER.log(Level.FINE, "Closing file system for {0} at {1}, {2}",
+                new Object[]{repo.getFullName(), ref, BlobCache.INSTANCE});
         connection.close();
     }
 
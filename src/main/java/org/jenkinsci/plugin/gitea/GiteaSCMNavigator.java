@@ -31,6 +31,7 @@ import com.cloudbees.plugins.credentials.domains.URIRequirementBuilder;
 import com.damnhandy.uri.template.UriTemplate;
 import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import hudson.AbortException;
 import hudson.Extension;
 import hudson.ExtensionList;
@@ -42,15 +43,27 @@ import hudson.model.Item;
 import hudson.model.Queue;
 import hudson.model.TaskListener;
 import hudson.security.ACL;
+import hudson.security.ACLContext;
+import hudson.util.DaemonThreadFactory;
 import hudson.util.FormValidation;
 import hudson.util.ListBoxModel;
+import hudson.util.NamingThreadFactory;
+import hudson.util.StreamTaskListener;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 import jenkins.authentication.tokens.api.AuthenticationTokens;
 import jenkins.model.Jenkins;
 import jenkins.plugins.git.traits.GitBrowserSCMSourceTrait;
@@ -86,6 +99,7 @@ import org.kohsuke.stapler.AncestorInPath;
 import org.kohsuke.stapler.DataBoundConstructor;
 import org.kohsuke.stapler.DataBoundSetter;
 import org.kohsuke.stapler.QueryParameter;
+import org.springframework.security.core.Authentication;
 
 public class GiteaSCMNavigator extends SCMNavigator {
     private final String serverUrl;
@@ -150,7 +164,10 @@ public class GiteaSCMNavigator extends SCMNavigator {
     @Override
     public void visitSources(@NonNull final SCMSourceObserver observer) throws IOException, InterruptedException {
         GiteaSCMNavigatorContext context = new GiteaSCMNavigatorContext().withTraits(traits);
-        try (GiteaSCMNavigatorRequest request = context.newRequest(this, observer);
+        final ParallelSCMSourceObserver parallelObserver =
+                context.getParallelism() > 1 ? new ParallelSCMSourceObserver(observer) : null;
+        try (GiteaSCMNavigatorRequest request =
+                     context.newRequest(this, parallelObserver != null ? parallelObserver : observer);
              GiteaConnection c = gitea(observer.getContext()).open()) {
             giteaOwner = c.fetchOwner(repoOwner);
             List<GiteaRepository> repositories = c.fetchRepositories(giteaOwner);
@@ -158,6 +175,7 @@ public class GiteaSCMNavigator extends SCMNavigator {
             int count = 0;
             observer.getListener().getLogger().format("%n  Checking repositories...%n");
             Set<Long> seen = new HashSet<>();
+            List<GiteaRepository> candidates = new ArrayList<>();
             for (GiteaRepository r : repositories) {
                 // TODO remove this hack for Gitea listing the repositories multiple times
                 if (seen.contains(r.getId())) {
@@ -179,41 +197,133 @@ public class GiteaSCMNavigator extends SCMNavigator {
                     continue;
 
                 }
-                observer.getListener().getLogger().format("%n    Checking repository %s%n",
-                        HyperlinkNote.encodeTo(r.getHtmlUrl(), r.getName()));
-                if (request.process(r.getName(), new SCMNavigatorRequest.SourceLambda() {
-                    @NonNull
-                    @Override
-                    public SCMSource create(@NonNull String projectName) throws IOException, InterruptedException {
-                        return new GiteaSCMSourceBuilder(
-                                getId() + "::" + projectName,
-                                serverUrl,
-                                credentialsId,
-                                repoOwner,
-                                projectName
-                        )
-                                .withTraits(traits)
-                                .build();
-                    }
-                }, null, new SCMNavigatorRequest.Witness() {
-                    @Override
-                    public void record(@NonNull String projectName, boolean isMatch) {
-                        if (isMatch) {
-                            observer.getListener().getLogger().format("      Proposing %s%n", projectName);
-                        } else {
-                            observer.getListener().getLogger().format("      Ignoring %s%n", projectName);
-                        }
-                    }
-                })) {
+                if (parallelObserver != null) {
+                    candidates.add(r);
+                } else if (visitRepository(request, observer, r)) {
                     observer.getListener().getLogger().format("%n  %d repositories were processed (query complete)%n",
                             count);
                     return;
                 }
             }
+            if (parallelObserver != null
+                    && visitRepositories(request, parallelObserver, candidates, context.getParallelism())) {
+                observer.getListener().getLogger().format("%n  %d repositories were processed (query complete)%n",
+                        count);
+                return;
+            }
             observer.getListener().getLogger().format("%n  %d repositories were processed%n", count);
         }
     }
 
+    /**
+     * Offers a single repository to the request.
+     *
+     * @param request  the request.
+     * @param observer the observer to log to.
+     * @param r        the repository.
+     * @return {@code true} if the request has been completed.
+     * @throws IOException          if there was an I/O error.
+     * @throws InterruptedException if interrupted.
+     */
+    private boolean visitRepository(@NonNull GiteaSCMNavigatorRequest request,
+                                    @NonNull final SCMSourceObserver observer,
+                                    @NonNull GiteaRepository r) throws IOException, InterruptedException {
+        observer.getListener().getLogger().format("%n    Checking repository %s%n",
+                HyperlinkNote.encodeTo(r.getHtmlUrl(), r.getName()));
+        return request.process(r.getName(), new SCMNavigatorRequest.SourceLambda() {
+            @NonNull
+            @Override
+            public SCMSource create(@NonNull String projectName) throws IOException, InterruptedException {
+                return new GiteaSCMSourceBuilder(
+                        getId() + "::" + projectName,
+                        serverUrl,
+                        credentialsId,
+                        repoOwner,
+                        projectName
+                )
+                        .withTraits(traits)
+                        .build();
+            }
+        }, null, new SCMNavigatorRequest.Witness() {
+            @Override
+            public void record(@NonNull String projectName, boolean isMatch) {
+                if (isMatch) {
+                    observer.getListener().getLogger().format("      Proposing %s%n", projectName);
+                } else {
+                    observer.getListener().getLogger().format("      Ignoring %s%n", projectName);
+                }
+            }
+        });
+    }
+
+    /**
+     * Offers the repositories to the request using a pool of threads.
+     *
+     * @param request      the request.
+     * @param observer     the thread safe observer that the request was created with.
+     * @param repositories the repositories.
+     * @param parallelism  the number of repositories to process at the same time.
+     * @return {@code true} if the request has been completed.
+     * @throws IOException          if there was an I/O error.
+     * @throws InterruptedException if interrupted.
+     */
+    private boolean visitRepositories(@NonNull final GiteaSCMNavigatorRequest request,
+                                      @NonNull final ParallelSCMSourceObserver observer,
+                                      @NonNull List<GiteaRepository> repositories,
+                                      int parallelism) throws IOException, InterruptedException {
+        if (repositories.isEmpty()) {
+            return false;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, repositories.size()),
+                new NamingThreadFactory(new DaemonThreadFactory(), "GiteaSCMNavigator.visitSources [" + repoOwner + "]"));
+        final Authentication authentication = Jenkins.getAuthentication2();
+        final AtomicBoolean complete = new AtomicBoolean();
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (final GiteaRepository r : repositories) {
+                futures.add(executor.submit(() -> {
+                    if (complete.get()) {
+                        return null;
+                    }
+                    try (ACLContext ignored = ACL.as2(authentication)) {
+                        observer.begin();
+                        try {
+                            if (visitRepository(request, observer, r)) {
+                                complete.set(true);
+                            }
+                        } finally {
+                            observer.end();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<Void> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof IOException) {
+                        throw (IOException) cause;
+                    }
+                    if (cause instanceof InterruptedException) {
+                        throw (InterruptedException) cause;
+                    }
+                    if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    }
+                    if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    throw new IOException(cause);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return complete.get();
+    }
+
     @NonNull
     @Override
     protected List<Action> retrieveActions(@NonNull SCMNavigatorOwner owner, SCMNavigatorEvent event,
@@ -269,7 +379,8 @@ public class GiteaSCMNavigator extends SCMNavigator {
         StandardCredentials credentials = credentials(owner);
         CredentialsProvider.track(owner, credentials);
         return Gitea.server(serverUrl)
-                .as(AuthenticationTokens.convert(GiteaAuth.class, credentials));
+                .as(AuthenticationTokens.convert(GiteaAuth.class, credentials))
+                .pageSize(server.getPageSize());
     }
 
     public StandardCredentials credentials(SCMSourceOwner owner) {
@@ -460,4 +571,112 @@ public class GiteaSCMNavigator extends SCMNavigator {
 
     }
 
+    /**
+     * A {@link SCMSourceObserver} that can be used from several threads at once. The observer of an organization folder
+     * makes no promise of thread safety, so every call to it, including the completion of each project, is
+     * serialized. What runs concurrently is the work of the navigator itself up to that point. Each thread logs to
+     * its own buffer between {@link #begin()} and {@link #end()}. The buffer is written out just before the project
+     * is completed, while the lock is held, so the lines that the completion logs to the listener of the delegate
+     * follow those of the same repository.
+     */
+    private static class ParallelSCMSourceObserver extends SCMSourceObserver.Wrapped<SCMSourceObserver> {
+
+        private final Object lock = new Object();
+        private final ThreadLocal<ByteArrayOutputStream> buffer = new ThreadLocal<>();
+        private final ThreadLocal<TaskListener> listener = new ThreadLocal<>();
+
+        ParallelSCMSourceObserver(SCMSourceObserver delegate) {
+            super(delegate);
+        }
+
+        /**
+         * Starts buffering the log output of the current thread.
+         */
+        void begin() {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            buffer.set(out);
+            listener.set(new StreamTaskListener(out, StandardCharsets.UTF_8));
+        }
+
+        /**
+         * Writes out the buffered log output of the current thread.
+         */
+        void end() {
+            synchronized (lock) {
+                flush();
+            }
+            buffer.remove();
+            listener.remove();
+        }
+
+        /**
+         * Writes out and resets the buffered log output of the current thread, the caller must hold {@link #lock}.
+         */
+        private void flush() {
+            ByteArrayOutputStream out = buffer.get();
+            TaskListener local = listener.get();
+            if (out != null && local != null) {
+                local.getLogger().flush();
+                PrintStream logger = super.getListener().getLogger();
+                logger.write(out.toByteArray(), 0, out.size());
+                logger.flush();
+                out.reset();
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @NonNull
+        @Override
+        public TaskListener getListener() {
+            TaskListener local = listener.get();
+            return local != null ? local : super.getListener();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @NonNull
+        @Override
+        public ProjectObserver observe(@NonNull String projectName) throws IOException, InterruptedException {
+            final ProjectObserver delegate;
+            synchronized (lock) {
+                delegate = super.observe(projectName);
+            }
+            return new ProjectObserver() {
+                @Override
+                public void addSource(@NonNull SCMSource source) {
+                    synchronized (lock) {
+                        delegate.addSource(source);
+                    }
+                }
+
+                @Override
+                public void addAttribute(@NonNull String key, @Nullable Object value) {
+                    synchronized (lock) {
+                        delegate.addAttribute(key, value);
+                    }
+                }
+
+                @Override
+                public void complete() throws IllegalStateException, IOException, InterruptedException {
+                    synchronized (lock) {
+                        flush();
+                        delegate.complete();
+                    }
+                }
+            };
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void addAttribute(@NonNull String key, @Nullable Object value) {
+            synchronized (lock) {
+                super.addAttribute(key, value);
+            }
+        }
+    }
 }
@@ -35,6 +35,11 @@ public class GiteaSCMNavigatorContext extends SCMNavigatorContext<GiteaSCMNaviga
      */
     private boolean excludeArchivedRepositories;
 
+    /**
+     * The number of repositories to process at the same time.
+     */
+    private int parallelism = 1;
+
     /**
      * @return True if archived repositories should be ignored, false if they should be included.
      */
@@ -49,6 +54,20 @@ public class GiteaSCMNavigatorContext extends SCMNavigatorContext<GiteaSCMNaviga
         this.excludeArchivedRepositories = excludeArchivedRepositories;
     }
 
+    /**
+     * @return The number of repositories to process at the same time.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * @param parallelism The number of repositories to process at the same time.
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+    }
+
     @NonNull
     @Override
     public GiteaSCMNavigatorRequest newRequest(@NonNull SCMNavigator navigator, @NonNull SCMSourceObserver observer) {
@@ -30,6 +30,7 @@ import com.cloudbees.plugins.credentials.common.StandardListBoxModel;
 import com.cloudbees.plugins.credentials.domains.URIRequirementBuilder;
 import com.damnhandy.uri.template.UriTemplate;
 import com.damnhandy.uri.template.UriTemplateBuilder;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import hudson.AbortException;
 import hudson.Extension;
@@ -45,9 +46,12 @@ import hudson.security.ACL;
 import hudson.util.FormValidation;
 import hudson.util.ListBoxModel;
 import hudson.util.VersionNumber;
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.EnumSet;
@@ -56,6 +60,11 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -92,6 +101,7 @@ import jenkins.scm.impl.trait.Selection;
 import org.apache.commons.lang.StringUtils;
 import org.jenkins.ui.icon.Icon;
 import org.jenkins.ui.icon.IconSet;
+import org.jenkinsci.plugin.gitea.client.api.AsyncGiteaConnection;
 import org.jenkinsci.plugin.gitea.client.api.Gitea;
 import org.jenkinsci.plugin.gitea.client.api.GiteaAnnotatedTag;
 import org.jenkinsci.plugin.gitea.client.api.GiteaAuth;
@@ -101,6 +111,7 @@ import org.jenkinsci.plugin.gitea.client.api.GiteaConnection;
 import org.jenkinsci.plugin.gitea.client.api.GiteaHttpStatusException;
 import org.jenkinsci.plugin.gitea.client.api.GiteaIssueState;
 import org.jenkinsci.plugin.gitea.client.api.GiteaOwner;
+import org.jenkinsci.plugin.gitea.client.api.GiteaPagedIterable;
 import org.jenkinsci.plugin.gitea.client.api.GiteaPullRequest;
 import org.jenkinsci.plugin.gitea.client.api.GiteaRelease;
 import org.jenkinsci.plugin.gitea.client.api.GiteaRepository;
@@ -203,35 +214,11 @@ public class GiteaSCMSource extends AbstractGitSCMSource {
                     }
                     if (head.getName().equals(tag.getName())) {
                         String revision = tag.getCommit().getSha();
-                        Date timestamp = null;
-                        if (!tag.getId().equalsIgnoreCase(tag.getCommit().getSha())) {
-                            // annotated tag, timestamp is annotation time
-                            try {
-                                GiteaAnnotatedTag annotatedTag =
-                                        c.fetchAnnotatedTag(repoOwner, repository, tag.getId());
-                                GiteaAnnotatedTag.Tagger tagger = annotatedTag.getTagger();
-                                timestamp = tagger != null ? tagger.getDate() : null;
-                            } catch (GiteaHttpStatusException e) {
-                                // ignore, best effort, fall back to commit
-                            }
-                        }
-                        if (timestamp == null) {
-                            // try to get the timestamp of the commit itself
-                            try {
-                                GiteaCommitDetail detail =
-                                        c.fetchCommit(repoOwner, repository, tag.getCommit().getSha());
-                                GiteaCommitDetail.GitCommit commit = detail.getCommit();
-                                GiteaCommitDetail.GitActor committer = commit != null ? commit.getCommitter() : null;
-                                timestamp = committer != null ? committer.getDate() : null;
-                            } catch (GiteaHttpStatusException e) {
-                                if (e.getStatusCode() != 404) {
-                                    throw e;
-                                }
-                            }
-                        }
+                        TagTimestampCache timestamps = TagTimestampCache.load(getOwner(), getId());
+                        final long ts = tagTimestamp(c, tag, timestamps, null);
+                        timestamps.save();
                         listener.getLogger().format("Current revision of tag %s is %s%n", head.getName(),
                                 revision);
-                        final long ts = timestamp == null ? 0L : timestamp.getTime();
                         return new TagSCMRevision(new TagSCMHead(tag.getName(), ts), revision);
                     }
                 }
@@ -274,6 +261,140 @@ public class GiteaSCMSource extends AbstractGitSCMSource {
         }
     }
 
+    /**
+     * Resolves the timestamp of a tag, i.e. the annotation time of annotated tags and otherwise the commit time.
+     *
+     * @param c          the connection.
+     * @param tag        the tag.
+     * @param timestamps the timestamps of the tags that have already been resolved.
+     * @param listener   the listener to log details to or {@code null}.
+     * @return the timestamp or {@code 0L} if it could not be resolved.
+     * @throws IOException          if there was a communication error.
+     * @throws InterruptedException if interrupted.
+     */
+    private long tagTimestamp(GiteaConnection c, GiteaTag tag, TagTimestampCache timestamps,
+                              @CheckForNull TaskListener listener)
+            throws IOException, InterruptedException {
+        Long cached = timestamps.get(tag.getId());
+        if (cached != null) {
+            return cached;
+        }
+        Date timestamp = null;
+        if (!tag.getId().equalsIgnoreCase(tag.getCommit().getSha())) {
+            // annotated tag, timestamp is annotation time
+            try {
+                GiteaAnnotatedTag annotatedTag = c.fetchAnnotatedTag(repoOwner, repository, tag.getId());
+                if (listener != null) {
+                    listener.getLogger().format("annotated tag: %s%n", annotatedTag);
+                }
+                GiteaAnnotatedTag.Tagger tagger = annotatedTag.getTagger();
+                timestamp = tagger != null ? tagger.getDate() : null;
+            } catch (GiteaHttpStatusException e) {
+                // ignore, best effort, fall back to commit
+            }
+        }
+        if (timestamp == null) {
+            // try to get the timestamp of the commit itself
+            try {
+                GiteaCommitDetail detail = c.fetchCommit(repoOwner, repository, tag.getCommit().getSha());
+                GiteaCommitDetail.GitCommit commit = detail.getCommit();
+                GiteaCommitDetail.GitActor committer = commit != null ? commit.getCommitter() : null;
+                timestamp = committer != null ? committer.getDate() : null;
+            } catch (GiteaHttpStatusException e) {
+                if (e.getStatusCode() != 404) {
+                    throw e;
+                }
+            }
+        }
+        if (timestamp == null) {
+            // do not remember, the commit may become available later
+            return 0L;
+        }
+        timestamps.put(tag.getId(), timestamp.getTime());
+        return timestamp.getTime();
+    }
+
+    /**
+     * Processes a branch or tag, reusing the outcome of the criteria from the last scan if the revision of the head is
+     * unchanged.
+     *
+     * @param request  the request.
+     * @param observer the observer.
+     * @param snapshot the snapshot of the last scan.
+     * @param head     the head.
+     * @param revision the revision.
+     * @param listener the listener.
+     * @return {@code true} if the request is completed.
+     * @throws IOException          if there was an I/O error.
+     * @throws InterruptedException if interrupted.
+     */
+    private boolean process(GiteaSCMSourceRequest request, SCMHeadObserver observer, HeadSnapshot snapshot,
+                            SCMHead head, AbstractGitSCMSource.SCMRevisionImpl revision, TaskListener listener)
+            throws IOException, InterruptedException {
+        Boolean matched = snapshot.getMatch(head, revision.getHash());
+        if (matched == null || request.isExcluded(head)) {
+            return request.process(head, revision, this::createProbe, new CriteriaWitness<>(listener),
+                    new SnapshotWitness<>(snapshot));
+        }
+        Set<SCMHead> includes = observer.getIncludes();
+        if (includes == null || includes.contains(head)) {
+            listener.getLogger().format(matched
+                    ? "    Met criteria (unchanged since last scan)%n"
+                    : "    Does not meet criteria (unchanged since last scan)%n");
+            snapshot.match(head, matched);
+            if (matched) {
+                observer.observe(head, revision);
+            }
+        }
+        return !observer.isObserving();
+    }
+
+    /**
+     * Fetches each of the requested items concurrently, skipping any that no longer exist.
+     *
+     * @param pending the futures to cancel if the retrieval fails.
+     * @param keys    the keys of the items.
+     * @param fetch   the function that starts fetching an item.
+     * @param include the predicate that the fetched items must match.
+     * @param <K>     the type of key.
+     * @param <T>     the type of item.
+     * @return the future for the items in the order of the keys.
+     */
+    private static <K, T> CompletableFuture<Iterable<T>> fetchEach(List<CompletableFuture<?>> pending,
+                                                                   Collection<K> keys,
+                                                                   Function<K, CompletableFuture<T>> fetch,
+                                                                   Predicate<T> include) {
+        List<CompletableFuture<T>> futures = new ArrayList<>(keys.size());
+        for (K key : keys) {
+            CompletableFuture<T> future = fetch.apply(key);
+            pending.add(future);
+            futures.add(future.handle((value, failure) -> {
+                if (failure == null) {
+                    return value;
+                }
+                Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                        ? failure.getCause()
+                        : failure;
+                if (cause instanceof GiteaHttpStatusException
+                        && ((GiteaHttpStatusException) cause).getStatusCode() == 404) {
+                    // deleted since the event was sent
+                    return null;
+                }
+                throw new CompletionException(cause);
+            }));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            List<T> result = new ArrayList<>(futures.size());
+            for (CompletableFuture<T> future : futures) {
+                T value = future.join();
+                if (value != null && include.test(value)) {
+                    result.add(value);
+                }
+            }
+            return result;
+        });
+    }
+
     @Override
     protected void retrieve(SCMSourceCriteria criteria, @NonNull SCMHeadObserver observer, SCMHeadEvent<?> event,
                             @NonNull final TaskListener listener) throws IOException, InterruptedException {
@@ -289,31 +410,99 @@ public class GiteaSCMSource extends AbstractGitSCMSource {
                     .withTraits(getTraits())
                     .newRequest(this, listener)) {
                 request.setConnection(c);
-                if (request.isFetchBranches()) {
-                    request.setBranches(c.fetchBranches(giteaRepository));
+                // a full scan of an unchanged repository can replay the branches and tags of the last full scan
+                HeadSnapshot snapshot = HeadSnapshot.load(getOwner(), getId());
+                boolean fullScan = observer.getIncludes() == null;
+                long updatedAt = giteaRepository.getUpdatedAt() == null
+                        ? -1L
+                        : giteaRepository.getUpdatedAt().getTime();
+                boolean unchanged = fullScan
+                        && snapshot.isUnchanged(updatedAt, request.isFetchBranches(), request.isFetchTags());
+                if (fullScan) {
+                    snapshot.begin(request.isFetchBranches(), request.isFetchTags());
                 }
-                if (request.isFetchPRs()) {
-                    if (giteaRepository.isMirror()) {
-                        listener.getLogger().format("%n  Ignoring pull requests as repository is a mirror...%n");
-                    } else {
-                        request.setPullRequests(c.fetchPullRequests(giteaRepository, EnumSet.of(GiteaIssueState.OPEN)));
-                    }
+                if (unchanged) {
+                    listener.getLogger().format("Repository has not changed since the last scan%n");
                 }
-                if (request.isFetchTags()) {
-                    final GiteaVersion version = c.fetchVersion();
-                    VersionNumber v = version.getVersionNumber();
-                    if (v.isOlderThan(TAG_SUPPORT_MINIMUM_VERSION)) {
-                        listener.getLogger()
-                                .format("%n  Ignoring tags as Gitea server is version %s and version %s is the "
-                                                + "minimum version to support tag indexing%n",
-                                        version.getVersion(), TAG_SUPPORT_MINIMUM_VERSION.toString());
-                        request.setTags(null);
-                    } else {
-                        request.setTags(c.fetchTags(giteaRepository));
+                // the lists are independent of each other, so request them all up front and wait for the slowest
+                AsyncGiteaConnection async = c.async();
+                // targeted tag lookups are only started once the version is known, so may be added concurrently
+                List<CompletableFuture<?>> pending = new CopyOnWriteArrayList<>();
+                try {
+                    // when the request is scoped to specific heads (e.g. from an event) only fetch those heads,
+                    // otherwise branches and tags are only walked once, so their pages can be fetched lazily
+                    CompletableFuture<Iterable<GiteaBranch>> branches = null;
+                    if (request.isFetchBranches() && !unchanged) {
+                        Set<String> names = request.getRequestedOriginBranchNames();
+                        pending.add(branches = names == null
+                                ? async.iterateBranches(giteaRepository)
+                                : fetchEach(pending, names, name -> async.fetchBranch(giteaRepository, name),
+                                        b -> true));
+                    }
+                    CompletableFuture<? extends Iterable<GiteaPullRequest>> pullRequests = null;
+                    if (request.isFetchPRs() && !giteaRepository.isMirror()) {
+                        Set<Long> numbers = request.getRequestedPullRequestNumbers();
+                        if (numbers != null && request.isTargetedPullRequests()) {
+                            pending.add(pullRequests = fetchEach(pending, numbers,
+                                    number -> async.fetchPullRequest(giteaRepository, number),
+                                    p -> p.getState() == GiteaIssueState.OPEN));
+                        } else {
+                            // indexing only needs the references of each pull request, not the full repository graphs
+                            pending.add(pullRequests = async.fetchPullRequestSummaries(giteaRepository,
+                                    EnumSet.of(GiteaIssueState.OPEN)));
+                        }
+                    }
+                    CompletableFuture<GiteaVersion> version = null;
+                    CompletableFuture<Iterable<GiteaTag>> tags = null;
+                    if (request.isFetchTags() && !unchanged) {
+                        Set<String> names = request.getRequestedTagNames();
+                        pending.add(version = async.fetchVersion());
+                        pending.add(tags = version.thenCompose(v -> v.getVersionNumber()
+                                .isOlderThan(TAG_SUPPORT_MINIMUM_VERSION)
+                                ? CompletableFuture.completedFuture(null)
+                                : names == null
+                                        ? async.iterateTags(giteaRepository)
+                                        : fetchEach(pending, names, name -> async.fetchTag(giteaRepository, name),
+                                                t -> true)));
+                    }
+                    CompletableFuture<List<GiteaRelease>> releases = null;
+                    if (request.isFetchReleases()) {
+                        pending.add(releases =
+                                async.fetchReleases(giteaRepository, false, request.isIncludingPreReleases()));
+                    }
+
+                    if (branches != null) {
+                        request.setBranches(AsyncGiteaConnection.await(branches));
+                    } else if (unchanged && request.isFetchBranches()) {
+                        request.setBranches(snapshot.getBranches());
+                    }
+                    if (request.isFetchPRs()) {
+                        if (giteaRepository.isMirror()) {
+                            listener.getLogger().format("%n  Ignoring pull requests as repository is a mirror...%n");
+                        } else {
+                            request.setPullRequests(AsyncGiteaConnection.await(pullRequests));
+                        }
+                    }
+                    if (version != null) {
+                        GiteaVersion v = AsyncGiteaConnection.await(version);
+                        if (v.getVersionNumber().isOlderThan(TAG_SUPPORT_MINIMUM_VERSION)) {
+                            listener.getLogger()
+                                    .format("%n  Ignoring tags as Gitea server is version %s and version %s is the "
+                                                    + "minimum version to support tag indexing%n",
+                                            v.getVersion(), TAG_SUPPORT_MINIMUM_VERSION.toString());
+                        }
+                        request.setTags(AsyncGiteaConnection.await(tags));
+                    } else if (unchanged && request.isFetchTags()) {
+                        request.setTags(snapshot.getTags());
+                    }
+                    if (releases != null) {
+                        request.setReleases(AsyncGiteaConnection.await(releases));
+                    }
+                } finally {
+                    // if one of the lists failed there is no point in waiting for the others
+                    for (CompletableFuture<?> f : pending) {
+                        f.cancel(true);
                     }
-                }
-                if (request.isFetchReleases()) {
-                    request.setReleases(c.fetchReleases(giteaRepository, false, request.isIncludingPreReleases()));
                 }
 
                 if (request.isFetchBranches()) {
@@ -334,7 +523,8 @@ public class GiteaSCMSource extends AbstractGitSCMSource {
                         );
                         final BranchSCMHead head = new BranchSCMHead(b.getName());
                         final BranchSCMRevision revision = new BranchSCMRevision(head, b.getCommit().getId());
-                        if (request.process(head, revision, this::createProbe, new CriteriaWitness<>(listener))) {
+                        snapshot.branch(b.getName(), b.getCommit().getId());
+                        if (process(request, observer, snapshot, head, revision, listener)) {
                             listener.getLogger().format("%n  %d branches were processed (query completed)%n", count);
                             return;
                         }
@@ -406,62 +596,66 @@ public class GiteaSCMSource extends AbstractGitSCMSource {
                 if (request.isFetchTags()) {
                     int count = 0;
                     listener.getLogger().format("%n  Checking tags...%n");
-                    for (final GiteaTag tag : request.getTags()) {
-                        if (tag.getCommit() == null) {
-                            // bad data from server, ignore
-                            continue;
-                        }
-                        count++;
-                        listener.getLogger().format("%n    Checking tag %s%n",
-                                HyperlinkNote.encodeTo(
-                                        UriTemplate.buildFromTemplate(giteaRepository.getHtmlUrl())
-                                                .literal("/src/tag")
-                                                .path("tag")
-                                                .build()
-                                                .set("tag", tag.getName())
-                                                .expand(),
-                                        tag.getName()
-                                )
-                        );
-                        Date timestamp = null;
-                        if (!tag.getId().equalsIgnoreCase(tag.getCommit().getSha())) {
-                            // annotated tag, timestamp is annotation time
-                            try {
-                                GiteaAnnotatedTag annotatedTag =
-                                        c.fetchAnnotatedTag(repoOwner, repository, tag.getId());
-                                listener.getLogger().format("annotated tag: %s%n", annotatedTag);
-                                GiteaAnnotatedTag.Tagger tagger = annotatedTag.getTagger();
-                                timestamp = tagger != null ? tagger.getDate() : null;
-                            } catch (GiteaHttpStatusException e) {
-                                // ignore, best effort, fall back to commit
+                    // tags are immutable, so only the tags we have never seen need their timestamp looked up
+                    TagTimestampCache timestamps = TagTimestampCache.load(getOwner(), getId());
+                    try {
+                        for (final GiteaTag tag : request.getTags()) {
+                            if (tag.getCommit() == null) {
+                                // bad data from server, ignore
+                                continue;
                             }
-                        }
-                        if (timestamp == null) {
-                            // try to get the timestamp of the commit itself
-                            try {
-                                GiteaCommitDetail detail =
-                                        c.fetchCommit(repoOwner, repository, tag.getCommit().getSha());
-                                GiteaCommitDetail.GitCommit commit = detail.getCommit();
-                                GiteaCommitDetail.GitActor committer = commit != null ? commit.getCommitter() : null;
-                                timestamp = committer != null ? committer.getDate() : null;
-                            } catch (GiteaHttpStatusException e) {
-                                if (e.getStatusCode() != 404) {
-                                    throw e;
-                                }
+                            count++;
+                            listener.getLogger().format("%n    Checking tag %s%n",
+                                    HyperlinkNote.encodeTo(
+                                            UriTemplate.buildFromTemplate(giteaRepository.getHtmlUrl())
+                                                    .literal("/src/tag")
+                                                    .path("tag")
+                                                    .build()
+                                                    .set("tag", tag.getName())
+                                                    .expand(),
+                                            tag.getName()
+                                    )
+                            );
+                            TagSCMHead head =
+                                    new TagSCMHead(tag.getName(), tagTimestamp(c, tag, timestamps, listener));
+                            TagSCMRevision revision = new TagSCMRevision(head, tag.getCommit().getSha());
+                            snapshot.tag(tag.getName(), tag.getId(), tag.getCommit().getSha());
+                            if (process(request, observer, snapshot, head, revision, listener)) {
+                                listener.getLogger()
+                                        .format("%n  %d tags were processed (query completed)%n", count);
+                                return;
                             }
                         }
-                        TagSCMHead head = new TagSCMHead(tag.getName(), timestamp == null ? 0L : timestamp.getTime());
-                        TagSCMRevision revision = new TagSCMRevision(head, tag.getCommit().getSha());
-                        if (request.process(head, revision, this::createProbe, new CriteriaWitness<>(listener))) {
-                            listener.getLogger().format("%n  %d tags were processed (query completed)%n", count);
-                            return;
+                        if (request.getRequestedTagNames() == null) {
+                            // every tag has been looked up, so anything else has been deleted
+                            timestamps.retainSeen();
                         }
+                    } finally {
+                        timestamps.save();
                     }
                     listener.getLogger().format("%n  %d tags were processed%n", count);
                 }
                 if (request.isFetchReleases()) {
                     int count = 0;
                     listener.getLogger().format("%n  Checking releases...%n");
+                    Set<String> names = request.getReleaseTagNames();
+                    if (!request.isTagsIndexed() && request.getRequestedTagNames() == null
+                            && names != null && names.size() > 1) {
+                        try {
+                            Iterable<GiteaTag> allTags = c.iterateTags(giteaRepository);
+                            long pages = allTags instanceof GiteaPagedIterable
+                                    ? ((GiteaPagedIterable<?>) allTags).getPageCount()
+                                    : 1L;
+                            if (pages > 0 && pages - 1 < names.size()) {
+                                // sweeping the remaining pages of tags takes fewer requests than a lookup per release
+                                request.indexTags(allTags, names);
+                            } else if (allTags instanceof Closeable) {
+                                ((Closeable) allTags).close();
+                            }
+                        } catch (GiteaHttpStatusException e) {
+                            // best effort, fall back to looking up each tag
+                        }
+                    }
                     for (final GiteaRelease release : request.getReleases()) {
                         count++;
                         listener.getLogger().format("%n    Checking release '%s' (tag %s)%n",
@@ -476,8 +670,16 @@ public class GiteaSCMSource extends AbstractGitSCMSource {
                                         release.getTagName()
                                 )
                         );
-                        final GiteaTag releaseTag = c.fetchTag(giteaRepository, release.getTagName());
                         final ReleaseSCMHead head = new ReleaseSCMHead(release.getTagName(), release.getId());
+                        Set<SCMHead> includes = observer.getIncludes();
+                        if ((includes != null && !includes.contains(head)) || request.isExcluded(head)) {
+                            // would not be processed, so no need to resolve the tag
+                            continue;
+                        }
+                        GiteaTag releaseTag = request.getTag(release.getTagName());
+                        if (releaseTag == null) {
+                            releaseTag = c.fetchTag(giteaRepository, release.getTagName());
+                        }
                         final ReleaseSCMRevision revision = new ReleaseSCMRevision(head, releaseTag.getCommit().getSha());
                         if (request.process(head, revision, this::createProbe, new CriteriaWitness<>(listener))) {
                             listener.getLogger().format("%n  %d releases were processed (query completed)%n", count);
@@ -486,7 +688,13 @@ public class GiteaSCMSource extends AbstractGitSCMSource {
                     }
                     listener.getLogger().format("%n  %d releases were processed%n", count);
                 }
+                if (fullScan) {
+                    snapshot.save(updatedAt);
+                }
             }
+        } catch (UncheckedIOException e) {
+            // a lazily fetched page could not be retrieved
+            throw e.getCause();
         }
     }
 
@@ -731,7 +939,8 @@ public class GiteaSCMSource extends AbstractGitSCMSource {
             CredentialsProvider.track(owner, credentials);
         }
         return Gitea.server(serverUrl)
-                .as(AuthenticationTokens.convert(GiteaAuth.class, credentials));
+                .as(AuthenticationTokens.convert(GiteaAuth.class, credentials))
+                .pageSize(server.getPageSize());
     }
 
     public StandardCredentials credentials() {
@@ -1033,6 +1242,20 @@ public class GiteaSCMSource extends AbstractGitSCMSource {
         }
     }
 
+    private static class SnapshotWitness<H extends SCMHead, R extends SCMRevision>
+            implements SCMSourceRequest.Witness<H, R> {
+        private final HeadSnapshot snapshot;
+
+        public SnapshotWitness(HeadSnapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        public void record(@NonNull SCMHead head, SCMRevision revision, boolean isMatch) {
+            snapshot.match(head, isMatch);
+        }
+    }
+
     private static class CriteriaWitness<H extends SCMHead, R extends SCMRevision>
             implements SCMSourceRequest.Witness<H, R> {
         private final TaskListener listener;
@@ -42,6 +42,7 @@ public class GiteaSCMSourceContext
     private boolean includesPreReleases;
     private boolean wantOriginPRs;
     private boolean wantForkPRs;
+    private boolean filtersBranchesByPRs;
     @NonNull
     private final Set<ChangeRequestCheckoutStrategy> originPRStrategies = EnumSet.noneOf(ChangeRequestCheckoutStrategy.class);
     @NonNull
@@ -102,6 +103,17 @@ public class GiteaSCMSourceContext
         return notificationsDisabled;
     }
 
+    /**
+     * Returns {@code true} if a {@link jenkins.scm.api.trait.SCMHeadFilter} decides whether to include a branch based
+     * on the pull requests filed from it, in which case the full list of pull requests is required to process any
+     * branch.
+     *
+     * @return {@code true} if branches are filtered by pull requests.
+     */
+    public final boolean filtersBranchesByPRs() {
+        return filtersBranchesByPRs;
+    }
+
     @NonNull
     public GiteaSCMSourceContext wantBranches(boolean include) {
         wantBranches = wantBranches || include;
@@ -142,6 +154,12 @@ public class GiteaSCMSourceContext
         return this;
     }
 
+    @NonNull
+    public GiteaSCMSourceContext withBranchesFilteredByPRs(boolean filtered) {
+        filtersBranchesByPRs = filtersBranchesByPRs || filtered;
+        return this;
+    }
+
     @NonNull
     public GiteaSCMSourceContext withOriginPRStrategies(Set<ChangeRequestCheckoutStrategy> strategies) {
         originPRStrategies.addAll(strategies);
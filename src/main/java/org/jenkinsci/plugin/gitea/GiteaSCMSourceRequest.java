@@ -34,6 +34,7 @@ import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import jenkins.scm.api.SCMHead;
@@ -41,6 +42,7 @@ import jenkins.scm.api.SCMHeadOrigin;
 import jenkins.scm.api.SCMSource;
 import jenkins.scm.api.mixin.ChangeRequestCheckoutStrategy;
 import jenkins.scm.api.trait.SCMSourceRequest;
+import org.apache.commons.lang.StringUtils;
 import org.jenkinsci.plugin.gitea.client.api.GiteaBranch;
 import org.jenkinsci.plugin.gitea.client.api.GiteaConnection;
 import org.jenkinsci.plugin.gitea.client.api.GiteaPullRequest;
@@ -64,14 +66,42 @@ public class GiteaSCMSourceRequest extends SCMSourceRequest {
     private final Set<String> requestedOriginBranchNames;
     @CheckForNull
     private final Set<String> requestedTagNames;
+    /**
+     * {@code true} if the full list of pull requests is needed to filter one of the requested branches.
+     */
+    private final boolean pullRequestListRequired;
     @CheckForNull
     private Iterable<GiteaPullRequest> pullRequests;
+    /**
+     * The head refs of the origin pull requests, see {@link #getOriginPullRequestHeadRefs()}, or {@code null} if not
+     * computed yet.
+     */
+    @CheckForNull
+    private Set<String> originPullRequestHeadRefs;
+    /**
+     * {@code true} if one of the pull requests has a deleted head, see {@link #hasPullRequestWithDeletedHead()}.
+     */
+    private boolean pullRequestWithDeletedHead;
     @CheckForNull
     private Iterable<GiteaBranch> branches;
     @CheckForNull
     private Iterable<GiteaTag> tags;
     @CheckForNull
     private Iterable<GiteaRelease> releases;
+    /**
+     * The names of the tags that the {@link #releases} refer to or {@code null} if the releases have not been provided.
+     */
+    @CheckForNull
+    private Set<String> releaseTagNames;
+    /**
+     * The tags that the releases refer to by name, populated as the {@link #getTags()} are iterated or by
+     * {@link #indexTags(Iterable, Set)}.
+     */
+    private final Map<String, GiteaTag> tagsByName = new HashMap<>();
+    /**
+     * {@code true} once {@link #tagsByName} holds every tag of the repository that the releases refer to.
+     */
+    private boolean tagsIndexed;
     /**
      * The repository collaborator names or {@code null} if not provided.
      */
@@ -106,9 +136,11 @@ public class GiteaSCMSourceRequest extends SCMSourceRequest {
             Set<Long> pullRequestNumbers = new HashSet<>(includes.size());
             Set<String> branchNames = new HashSet<>(includes.size());
             Set<String> tagNames = new HashSet<>(includes.size());
+            boolean branchesIncluded = false;
             for (SCMHead h : includes) {
                 if (h instanceof BranchSCMHead) {
                     branchNames.add(h.getName());
+                    branchesIncluded = true;
                 } else if (h instanceof PullRequestSCMHead) {
                     pullRequestNumbers.add(Long.parseLong(((PullRequestSCMHead) h).getId()));
                     if (SCMHeadOrigin.DEFAULT.equals(h.getOrigin())) {
@@ -123,10 +155,12 @@ public class GiteaSCMSourceRequest extends SCMSourceRequest {
             this.requestedPullRequestNumbers = Collections.unmodifiableSet(pullRequestNumbers);
             this.requestedOriginBranchNames = Collections.unmodifiableSet(branchNames);
             this.requestedTagNames = Collections.unmodifiableSet(tagNames);
+            this.pullRequestListRequired = fetchBranches && branchesIncluded && context.filtersBranchesByPRs();
         } else {
             requestedPullRequestNumbers = null;
             requestedOriginBranchNames = null;
             requestedTagNames = null;
+            pullRequestListRequired = true;
         }
     }
 
@@ -247,6 +281,17 @@ public class GiteaSCMSourceRequest extends SCMSourceRequest {
         return requestedPullRequestNumbers;
     }
 
+    /**
+     * Returns {@code true} if the request is scoped to the {@link #getRequestedPullRequestNumbers()} and those pull
+     * requests can be fetched individually rather than listing every open pull request. This is not the case if the
+     * request is not scoped or if one of the requested branches is filtered based on the pull requests filed from it.
+     *
+     * @return {@code true} if only the requested pull requests need to be fetched.
+     */
+    public final boolean isTargetedPullRequests() {
+        return requestedPullRequestNumbers != null && !pullRequestListRequired;
+    }
+
     /**
      * Gets requested origin branch names.
      *
@@ -286,6 +331,60 @@ public class GiteaSCMSourceRequest extends SCMSourceRequest {
      */
     public void setPullRequests(@CheckForNull Iterable<GiteaPullRequest> pullRequests) {
         this.pullRequests = pullRequests;
+        this.originPullRequestHeadRefs = null;
+        this.pullRequestWithDeletedHead = false;
+    }
+
+    /**
+     * Returns the head refs of the {@link #getPullRequests()} filed from the repository itself, so that branches can be
+     * matched against the pull requests without iterating them. Only the pull requests before the first one whose
+     * head has been deleted are considered (see {@link #hasPullRequestWithDeletedHead()}).
+     *
+     * @return the head refs of the origin pull requests.
+     */
+    @NonNull
+    public final Set<String> getOriginPullRequestHeadRefs() {
+        indexPullRequestHeads();
+        return originPullRequestHeadRefs;
+    }
+
+    /**
+     * Returns {@code true} if the head of one of the {@link #getPullRequests()} has been deleted, in which case the
+     * {@link #getOriginPullRequestHeadRefs()} stop at that pull request.
+     *
+     * @return {@code true} if the head of one of the pull requests has been deleted.
+     */
+    public final boolean hasPullRequestWithDeletedHead() {
+        indexPullRequestHeads();
+        return pullRequestWithDeletedHead;
+    }
+
+    private void indexPullRequestHeads() {
+        if (originPullRequestHeadRefs != null) {
+            return;
+        }
+        Set<String> refs = new HashSet<>();
+        boolean deletedHead = false;
+        for (GiteaPullRequest p : getPullRequests()) {
+            if (p.getHead() == null || p.getHead().getRepo() == null
+                    || p.getHead().getRepo().getOwner() == null
+                    || p.getHead().getRepo().getName() == null
+                    || p.getHead().getRef() == null
+            ) {
+                deletedHead = true;
+                break;
+            }
+            if (StringUtils.equalsIgnoreCase(
+                    p.getBase().getRepo().getOwner().getUsername(),
+                    p.getHead().getRepo().getOwner().getUsername())
+                    && StringUtils.equalsIgnoreCase(
+                    p.getBase().getRepo().getName(),
+                    p.getHead().getRepo().getName())) {
+                refs.add(p.getHead().getRef());
+            }
+        }
+        pullRequestWithDeletedHead = deletedHead;
+        originPullRequestHeadRefs = Collections.unmodifiableSet(refs);
     }
 
     /**
@@ -316,7 +415,94 @@ public class GiteaSCMSourceRequest extends SCMSourceRequest {
      */
     @NonNull
     public final Iterable<GiteaTag> getTags() {
-        return Util.fixNull(tags);
+        final Iterable<GiteaTag> tags = this.tags;
+        if (tags == null) {
+            return Collections.emptyList();
+        }
+        if (releaseTagNames == null) {
+            // nothing to look up the tags for, so keep streaming them
+            return tags;
+        }
+        // only an unscoped listing contains every tag
+        final boolean complete = requestedTagNames == null;
+        return () -> new Iterator<GiteaTag>() {
+            private final Iterator<GiteaTag> delegate = tags.iterator();
+
+            @Override
+            public boolean hasNext() {
+                boolean hasNext = delegate.hasNext();
+                if (!hasNext && complete) {
+                    tagsIndexed = true;
+                }
+                return hasNext;
+            }
+
+            @Override
+            public GiteaTag next() {
+                GiteaTag tag = delegate.next();
+                indexTag(tag);
+                return tag;
+            }
+        };
+    }
+
+    /**
+     * Adds the wanted tags of the repository to the index of tags by name, so that {@link #getTag(String)} does not
+     * need to look up each tag individually. The tags are only iterated until all the wanted tags have been found.
+     *
+     * @param tags  all the tags of the repository.
+     * @param names the names of the wanted tags.
+     * @throws IOException if the tags could not be closed.
+     */
+    public final void indexTags(@NonNull Iterable<GiteaTag> tags, @NonNull Set<String> names) throws IOException {
+        try {
+            Set<String> missing = new HashSet<>(names);
+            missing.removeAll(tagsByName.keySet());
+            Iterator<GiteaTag> iterator = tags.iterator();
+            while (!missing.isEmpty()) {
+                if (!iterator.hasNext()) {
+                    // the remaining tags do not exist
+                    tagsIndexed = true;
+                    break;
+                }
+                GiteaTag tag = iterator.next();
+                if (tag != null && missing.remove(tag.getName())) {
+                    tagsByName.put(tag.getName(), tag);
+                }
+            }
+        } finally {
+            if (tags instanceof Closeable) {
+                ((Closeable) tags).close();
+            }
+        }
+    }
+
+    private void indexTag(GiteaTag tag) {
+        Set<String> names = releaseTagNames;
+        if (tag != null && names != null && names.contains(tag.getName())) {
+            tagsByName.put(tag.getName(), tag);
+        }
+    }
+
+    /**
+     * Returns {@code true} if {@link #getTag(String)} knows every tag of the repository.
+     *
+     * @return {@code true} if {@link #getTag(String)} knows every tag of the repository.
+     */
+    public final boolean isTagsIndexed() {
+        return tagsIndexed;
+    }
+
+    /**
+     * Looks up a tag by name from the tags seen so far.
+     *
+     * @param name the name of the tag.
+     * @return the tag or {@code null} if the tag has not been seen (which only implies the tag does not exist if
+     * {@link #isTagsIndexed()}).
+     */
+    @CheckForNull
+    public final GiteaTag getTag(@NonNull String name) {
+        return tagsByName.get(name);
     }
 
     /**
@@ -335,6 +521,28 @@ public class GiteaSCMSourceRequest extends SCMSourceRequest {
 
     public final void setReleases(@CheckForNull Iterable<GiteaRelease> releases) {
         this.releases = releases;
+        if (releases == null || !fetchReleases) {
+            releaseTagNames = null;
+        } else {
+            Set<String> names = new HashSet<>();
+            for (GiteaRelease release : releases) {
+                if (release != null && release.getTagName() != null) {
+                    names.add(release.getTagName());
+                }
+            }
+            releaseTagNames = Collections.unmodifiableSet(names);
+        }
+    }
+
+    /**
+     * Returns the names of the tags that the releases refer to or {@code null} if the releases have not been provided
+     * by {@link #setReleases(Iterable)} yet.
+     *
+     * @return the names of the tags that the releases refer to.
+     */
+    @CheckForNull
+    public final Set<String> getReleaseTagNames() {
+        return releaseTagNames;
     }
 
     /**
@@ -0,0 +1,72 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2017, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugin.gitea;
+
+import hudson.Extension;
+import hudson.model.PeriodicWork;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * Periodically logs the counters of the {@link GiteaWebhookQueue}, so that an administrator can see how deep the
+ * queue runs and whether payloads are being dropped or failing. The line is logged at {@link Level#INFO} when
+ * payloads were dropped or failed since the last time, and at {@link Level#FINE} otherwise. The hits, misses and
+ * evictions of the {@link BlobCache} are logged at {@link Level#FINE} alongside, to help with sizing it.
+ */
+@Extension
+@Restricted(NoExternalUse.class)
+public class GiteaStatistics extends PeriodicWork {
+    private static final Logger LOGGER = Logger.getLogger(GiteaStatistics.class.getName());
+
+    private long lastDropped;
+    private long lastFailed;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getRecurrencePeriod() {
+        return TimeUnit.MINUTES.toMillis(10);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void doRun() {
+        GiteaWebhookQueue queue = GiteaWebhookQueue.get();
+        long dropped = queue.getDroppedCount();
+        long failed = queue.getFailedCount();
+        Level level = dropped > lastDropped || failed > lastFailed ? Level.INFO : Level.FINE;
+        lastDropped = dropped;
+        lastFailed = failed;
+        LOGGER.log(level, "Webhook queue: {0}", queue);
+        if (BlobCache.INSTANCE.isEnabled()) {
+            LOGGER.log(Level.FINE, "Blob cache: {0}", BlobCache.INSTANCE);
+        }
+    }
+}
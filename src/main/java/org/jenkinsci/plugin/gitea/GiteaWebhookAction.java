@@ -32,7 +32,11 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import jenkins.scm.api.SCMEvent;
@@ -96,19 +100,60 @@ public class GiteaWebhookAction extends CrumbExclusion implements UnprotectedRoo
         LOGGER.log(Level.FINER, "Received {0} event from {1}", new Object[]{
                 request.getContentType(), origin
         });
-        boolean processed = false;
+        List<GiteaWebhookHandler<?, ?>> handlers = new ArrayList<>();
         for (GiteaWebhookHandler<?, ?> h : ExtensionList.lookup(GiteaWebhookHandler.class)) {
             if (h.matches(type)) {
-                LOGGER.log(Level.FINER, "Processing {0} event from {1} with {2}",
-                        new Object[]{type, origin, h});
-                h.process(request.getInputStream(), origin);
-                processed = true;
+                handlers.add(h);
             }
         }
-        if (!processed) {
+        if (handlers.isEmpty()) {
             LOGGER.log(Level.INFO, "Received hook payload with unknown type: {0} from {1}",
                     new Object[]{type, origin});
+            return HttpResponses.text("Ignored");
         }
-        return HttpResponses.text(processed ? "Processed" : "Ignored");
+        if (request.getContentLengthLong() > GiteaWebhookQueue.MAX_PAYLOAD_BYTES) {
+            return payloadTooLarge(origin);
+        }
+        // parsing and dispatching can take longer than Gitea waits for a delivery, so only queue the payload here
+        byte[] payload = readPayload(request.getInputStream(), GiteaWebhookQueue.MAX_PAYLOAD_BYTES);
+        if (payload == null) {
+            return payloadTooLarge(origin);
+        }
+        GiteaWebhookQueue queue = GiteaWebhookQueue.get();
+        if (!queue.offer(handlers, payload, origin)) {
+            return HttpResponses.error(HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+                    "Too many events are waiting to be processed, try again later");
+        }
+        return queue.isAsynchronous()
+                ? HttpResponses.status(HttpServletResponse.SC_ACCEPTED)
+                : HttpResponses.text("Processed");
+    }
+
+    private HttpResponse payloadTooLarge(String origin) {
+        LOGGER.log(Level.WARNING, "Rejected webhook payload from {0} larger than {1} bytes",
+                new Object[]{origin, GiteaWebhookQueue.MAX_PAYLOAD_BYTES});
+        return HttpResponses.error(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE,
+                "Payloads larger than " + GiteaWebhookQueue.MAX_PAYLOAD_BYTES + " bytes are not accepted");
+    }
+
+    /**
+     * Reads a payload up to a maximum size.
+     *
+     * @param in       the payload.
+     * @param maxBytes the maximum size of the payload.
+     * @return the payload or {@code null} if it is larger than the maximum size.
+     * @throws IOException if the payload could not be read.
+     */
+    static byte[] readPayload(InputStream in, int maxBytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int n;
+        while ((n = in.read(buffer)) != -1) {
+            if (out.size() + n > maxBytes) {
+                return null;
+            }
+            out.write(buffer, 0, n);
+        }
+        return out.toByteArray();
     }
 }
@@ -23,7 +23,6 @@
  */
 package org.jenkinsci.plugin.gitea;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import hudson.ExtensionPoint;
 import java.io.IOException;
 import java.io.InputStream;
@@ -34,6 +33,7 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import jenkins.scm.api.SCMEvent;
 import org.jenkinsci.plugin.gitea.client.api.GiteaEvent;
+import org.jenkinsci.plugin.gitea.client.api.GiteaJson;
 import org.jvnet.tiger_types.Types;
 
 public abstract class GiteaWebhookHandler<E extends SCMEvent<P>, P extends GiteaEvent> implements ExtensionPoint {
@@ -41,7 +41,6 @@ public abstract class GiteaWebhookHandler<E extends SCMEvent<P>, P extends Gitea
     private final String eventName;
     private final Class<E> eventClass;
     private final Class<P> payloadClass;
-    private final ObjectMapper mapper = new ObjectMapper();
 
     protected GiteaWebhookHandler(String eventName, Class<E> eventClass, Class<P> payloadClass) {
         this.eventName = eventName;
@@ -117,7 +116,7 @@ public abstract class GiteaWebhookHandler<E extends SCMEvent<P>, P extends Gitea
     }
 
     public final void process(InputStream inputStream, String origin) throws IOException {
-        process(createEvent(payloadClass.cast(mapper.readerFor(payloadClass).readValue(inputStream)), origin));
+        process(createEvent(payloadClass.cast(GiteaJson.reader(payloadClass).readValue(inputStream)), origin));
     }
 
     protected abstract E createEvent(P payload, String origin);
@@ -145,8 +145,10 @@ public class GiteaWebhookListener {
 
     private static GiteaConnection connect(String serverUrl, StandardCredentials credentials)
             throws IOException, InterruptedException {
+        GiteaServer server = GiteaServers.get().findServer(serverUrl);
         return Gitea.server(serverUrl)
                 .as(AuthenticationTokens.convert(GiteaAuth.class, credentials))
+                .pageSize(server == null ? null : server.getPageSize())
                 .open();
     }
 
@@ -0,0 +1,258 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2017, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugin.gitea;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jenkins.util.SystemProperties;
+
+/**
+ * A bounded queue of received webhook payloads that are parsed and dispatched to the {@link GiteaWebhookHandler}s by
+ * a pool of workers, so that {@link GiteaWebhookAction} can acknowledge a delivery before Gitea gives up waiting for
+ * it. The queue is sized by the {@code org.jenkinsci.plugin.gitea.GiteaWebhookQueue.capacity} system property (setting
+ * it to {@code 0} processes payloads on the request thread) and the pool by the
+ * {@code org.jenkinsci.plugin.gitea.GiteaWebhookQueue.workers} system property. As the webhook endpoint is
+ * unauthenticated, a single payload is limited to {@code org.jenkinsci.plugin.gitea.GiteaWebhookQueue.maxPayloadBytes}
+ * and the payloads waiting in the queue to {@code org.jenkinsci.plugin.gitea.GiteaWebhookQueue.maxQueuedBytes} in
+ * total.
+ */
+public final class GiteaWebhookQueue {
+    private static final Logger LOGGER = Logger.getLogger(GiteaWebhookQueue.class.getName());
+
+    /**
+     * The maximum number of payloads waiting to be processed.
+     */
+    static final int CAPACITY = Math.max(0, SystemProperties.getInteger(
+            GiteaWebhookQueue.class.getName() + ".capacity", 1000));
+
+    /**
+     * The number of workers processing payloads.
+     */
+    static final int WORKERS = Math.max(1, SystemProperties.getInteger(
+            GiteaWebhookQueue.class.getName() + ".workers", 4));
+
+    /**
+     * The maximum size of a single payload.
+     */
+    static final int MAX_PAYLOAD_BYTES = Math.max(0, SystemProperties.getInteger(
+            GiteaWebhookQueue.class.getName() + ".maxPayloadBytes", 10 * 1024 * 1024));
+
+    /**
+     * The maximum total size of the payloads waiting to be processed.
+     */
+    static final long MAX_QUEUED_BYTES = Math.max(0L, SystemProperties.getLong(
+            GiteaWebhookQueue.class.getName() + ".maxQueuedBytes", 64L * 1024 * 1024));
+
+    private static final GiteaWebhookQueue INSTANCE = new GiteaWebhookQueue(CAPACITY, WORKERS, MAX_QUEUED_BYTES);
+
+    private final int capacity;
+    private final long maxQueuedBytes;
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong queuedBytes = new AtomicLong();
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    GiteaWebhookQueue(int capacity, int workers) {
+        this(capacity, workers, MAX_QUEUED_BYTES);
+    }
+
+    GiteaWebhookQueue(int capacity, int workers, long maxQueuedBytes) {
+        this.capacity = capacity;
+        this.maxQueuedBytes = maxQueuedBytes;
+        if (capacity > 0) {
+            executor = new ThreadPoolExecutor(workers, workers, 60L, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(capacity),
+                    new NamingThreadFactory(new DaemonThreadFactory(), GiteaWebhookQueue.class.getSimpleName()),
+                    new ThreadPoolExecutor.AbortPolicy());
+            executor.allowCoreThreadTimeOut(true);
+        } else {
+            executor = null;
+        }
+    }
+
+    /**
+     * Returns the shared queue.
+     *
+     * @return the shared queue.
+     */
+    @NonNull
+    public static GiteaWebhookQueue get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns {@code true} if payloads are processed asynchronously.
+     *
+     * @return {@code true} if payloads are processed asynchronously.
+     */
+    public boolean isAsynchronous() {
+        return executor != null;
+    }
+
+    /**
+     * Queues a payload for processing.
+     *
+     * @param handlers the handlers to process the payload with.
+     * @param payload  the raw payload.
+     * @param origin   the origin of the payload.
+     * @return {@code false} if the queue is full, by count or by size, and the payload was dropped.
+     */
+    boolean offer(@NonNull List<GiteaWebhookHandler<?, ?>> handlers, @NonNull byte[] payload,
+                  @NonNull String origin) {
+        if (executor == null) {
+            accepted.incrementAndGet();
+            process(handlers, payload, origin);
+            return true;
+        }
+        if (queuedBytes.addAndGet(payload.length) > maxQueuedBytes) {
+            queuedBytes.addAndGet(-payload.length);
+            dropped.incrementAndGet();
+            LOGGER.log(Level.WARNING, "Dropped webhook payload from {0} as {1} bytes of payloads are already queued",
+                    new Object[]{origin, maxQueuedBytes});
+            return false;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    process(handlers, payload, origin);
+                } finally {
+                    queuedBytes.addAndGet(-payload.length);
+                }
+            });
+            accepted.incrementAndGet();
+            return true;
+        } catch (RejectedExecutionException e) {
+            queuedBytes.addAndGet(-payload.length);
+            dropped.incrementAndGet();
+            LOGGER.log(Level.WARNING, "Dropped webhook payload from {0} as {1} payloads are already queued",
+                    new Object[]{origin, capacity});
+            return false;
+        }
+    }
+
+    private void process(List<GiteaWebhookHandler<?, ?>> handlers, byte[] payload, String origin) {
+        for (GiteaWebhookHandler<?, ?> h : handlers) {
+            try {
+                LOGGER.log(Level.FINER, "Processing event from {0} with {1}", new Object[]{origin, h});
+                h.process(new ByteArrayInputStream(payload), origin);
+                processed.incrementAndGet();
+            } catch (Exception e) {
+                failed.incrementAndGet();
+                LOGGER.log(Level.WARNING, "Could not process webhook payload from " + origin + " with " + h, e);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of payloads waiting to be processed.
+     *
+     * @return the number of payloads waiting to be processed.
+     */
+    public int getQueueDepth() {
+        return executor == null ? 0 : executor.getQueue().size();
+    }
+
+    /**
+     * Returns the total size of the payloads waiting to be processed or being processed.
+     *
+     * @return the total size of the payloads waiting to be processed or being processed.
+     */
+    public long getQueuedBytes() {
+        return queuedBytes.get();
+    }
+
+    /**
+     * Returns the maximum number of payloads waiting to be processed.
+     *
+     * @return the maximum number of payloads waiting to be processed.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of payloads accepted for processing.
+     *
+     * @return the number of payloads accepted for processing.
+     */
+    public long getAcceptedCount() {
+        return accepted.get();
+    }
+
+    /**
+     * Returns the number of times a payload was processed by a handler.
+     *
+     * @return the number of times a payload was processed by a handler.
+     */
+    public long getProcessedCount() {
+        return processed.get();
+    }
+
+    /**
+     * Returns the number of times a handler failed to process a payload.
+     *
+     * @return the number of times a handler failed to process a payload.
+     */
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    /**
+     * Returns the number of payloads rejected because the queue was full.
+     *
+     * @return the number of payloads rejected because the queue was full.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "GiteaWebhookQueue{"
+                + "depth=" + getQueueDepth()
+                + ", capacity=" + capacity
+                + ", bytes=" + queuedBytes
+                + ", maxBytes=" + maxQueuedBytes
+                + ", accepted=" + accepted
+                + ", processed=" + processed
+                + ", failed=" + failed
+                + ", dropped=" + dropped
+                + '}';
+    }
+}
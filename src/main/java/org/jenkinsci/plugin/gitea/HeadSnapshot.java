@@ -0,0 +1,301 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2017, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugin.gitea;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Util;
+import hudson.XmlFile;
+import hudson.util.XStream2;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jenkins.scm.api.SCMHead;
+import jenkins.scm.api.SCMSourceOwner;
+import org.jenkinsci.plugin.gitea.client.api.GiteaBranch;
+import org.jenkinsci.plugin.gitea.client.api.GiteaCommit;
+import org.jenkinsci.plugin.gitea.client.api.GiteaCommitHash;
+import org.jenkinsci.plugin.gitea.client.api.GiteaTag;
+
+/**
+ * A persistent snapshot of the branches and tags of the repository of a single {@link GiteaSCMSource} as of the last
+ * full scan, together with the outcome of the criteria for each revision.
+ * <ul>
+ * <li>If neither the repository (as per its {@code updated_at}) nor the configuration of the owner have changed since
+ * the snapshot was taken, the branches and tags can be replayed from the snapshot instead of being listed.</li>
+ * <li>The outcome of the criteria is a function of the revision, so for any head whose revision is unchanged the
+ * criteria do not need to be probed again.</li>
+ * </ul>
+ */
+final class HeadSnapshot {
+    private static final Logger LOGGER = Logger.getLogger(HeadSnapshot.class.getName());
+    private static final XStream2 XSTREAM = new XStream2();
+    /**
+     * The directory within the {@link SCMSourceOwner#getRootDir()} holding the snapshots.
+     */
+    private static final String DIRECTORY = "gitea-head-snapshots";
+
+    static {
+        XSTREAM.alias("gitea-head-snapshot", State.class);
+        XSTREAM.alias("head", Entry.class);
+    }
+
+    @CheckForNull
+    private final XmlFile file;
+    /**
+     * The modification time of the owner configuration or {@code -1} if unknown.
+     */
+    private final long configured;
+    /**
+     * The snapshot taken by the last full scan.
+     */
+    @NonNull
+    private final State previous;
+    /**
+     * The snapshot being taken by the current scan.
+     */
+    @NonNull
+    private final State current = new State();
+
+    HeadSnapshot(@CheckForNull File file, long configured) {
+        this.file = file == null ? null : new XmlFile(XSTREAM, file);
+        this.configured = configured;
+        State state = read(this.file);
+        // a change in configuration may change the criteria, so nothing can be reused
+        this.previous = state != null && configured != -1 && state.configured == configured ? state : new State();
+    }
+
+    /**
+     * Loads the snapshot for the specified source.
+     *
+     * @param owner    the owner of the source or {@code null} if the source is not attached to an owner.
+     * @param sourceId the {@link GiteaSCMSource#getId()}.
+     * @return the snapshot, which will be empty and only held in memory if the source has no owner.
+     */
+    @NonNull
+    static HeadSnapshot load(@CheckForNull SCMSourceOwner owner, @NonNull String sourceId) {
+        if (owner == null) {
+            return new HeadSnapshot(null, -1);
+        }
+        File config = new File(owner.getRootDir(), "config.xml");
+        return new HeadSnapshot(
+                new File(new File(owner.getRootDir(), DIRECTORY), Util.getDigestOf(sourceId) + ".xml"),
+                config.isFile() ? config.lastModified() : -1
+        );
+    }
+
+    @CheckForNull
+    private static State read(@CheckForNull XmlFile file) {
+        if (file != null && file.exists()) {
+            try {
+                Object data = file.read();
+                if (data instanceof State) {
+                    return (State) data;
+                }
+            } catch (IOException | RuntimeException e) {
+                // the snapshot is only an optimization, the repository will be listed again
+                LOGGER.log(Level.WARNING, "Could not read head snapshot from " + file, e);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns {@code true} if the repository has not changed since the last full scan.
+     *
+     * @param updatedAt the current {@code updated_at} of the repository or {@code -1} if unknown.
+     * @param branches  {@code true} if the branches are required.
+     * @param tags      {@code true} if the tags are required.
+     * @return {@code true} if the required heads can be replayed from the snapshot.
+     */
+    synchronized boolean isUnchanged(long updatedAt, boolean branches, boolean tags) {
+        return updatedAt != -1
+                && previous.updatedAt == updatedAt
+                && (!branches || previous.branches != null)
+                && (!tags || previous.tags != null);
+    }
+
+    /**
+     * Replays the branches of the last full scan.
+     *
+     * @return the branches.
+     */
+    @NonNull
+    synchronized List<GiteaBranch> getBranches() {
+        List<GiteaBranch> result = new ArrayList<>();
+        for (Map.Entry<String, Entry> e : Util.fixNull(previous.branches).entrySet()) {
+            GiteaCommit commit = new GiteaCommit();
+            commit.setId(e.getValue().revision);
+            result.add(new GiteaBranch(e.getKey(), commit));
+        }
+        return result;
+    }
+
+    /**
+     * Replays the tags of the last full scan.
+     *
+     * @return the tags.
+     */
+    @NonNull
+    synchronized List<GiteaTag> getTags() {
+        List<GiteaTag> result = new ArrayList<>();
+        for (Map.Entry<String, Entry> e : Util.fixNull(previous.tags).entrySet()) {
+            GiteaCommitHash commit = new GiteaCommitHash();
+            commit.setSha(e.getValue().revision);
+            result.add(new GiteaTag(e.getKey(), e.getValue().id, commit));
+        }
+        return result;
+    }
+
+    /**
+     * Starts taking the snapshot in the current scan.
+     *
+     * @param branches {@code true} if the branches are listed.
+     * @param tags     {@code true} if the tags are listed.
+     */
+    synchronized void begin(boolean branches, boolean tags) {
+        current.branches = branches ? new TreeMap<>() : null;
+        current.tags = tags ? new TreeMap<>() : null;
+    }
+
+    /**
+     * Records a branch seen by the current scan.
+     *
+     * @param name     the name of the branch.
+     * @param revision the revision of the branch.
+     */
+    synchronized void branch(@NonNull String name, @NonNull String revision) {
+        if (current.branches != null) {
+            current.branches.put(name, new Entry(revision, null));
+        }
+    }
+
+    /**
+     * Records a tag seen by the current scan.
+     *
+     * @param name     the name of the tag.
+     * @param id       the SHA of the tag.
+     * @param revision the revision of the tag.
+     */
+    synchronized void tag(@NonNull String name, @NonNull String id, @NonNull String revision) {
+        if (current.tags != null) {
+            current.tags.put(name, new Entry(revision, id));
+        }
+    }
+
+    /**
+     * Returns the outcome of the criteria for the head at the revision as of the last scan.
+     *
+     * @param head     the head.
+     * @param revision the revision.
+     * @return the outcome of the criteria or {@code null} if the head was not probed at that revision.
+     */
+    @CheckForNull
+    synchronized Boolean getMatch(@NonNull SCMHead head, @NonNull String revision) {
+        Map<String, Entry> entries = head instanceof TagSCMHead ? previous.tags : previous.branches;
+        Entry entry = entries == null ? null : entries.get(head.getName());
+        return entry != null && revision.equals(entry.revision) ? entry.matched : null;
+    }
+
+    /**
+     * Records the outcome of the criteria for the head in the current scan.
+     *
+     * @param head    the head.
+     * @param isMatch the outcome of the criteria.
+     */
+    synchronized void match(@NonNull SCMHead head, boolean isMatch) {
+        Map<String, Entry> entries = head instanceof TagSCMHead ? current.tags : current.branches;
+        Entry entry = entries == null ? null : entries.get(head.getName());
+        if (entry != null) {
+            entry.matched = isMatch;
+        }
+    }
+
+    /**
+     * Replaces the snapshot with what was seen by the current scan. Only call this after a full scan.
+     *
+     * @param updatedAt the {@code updated_at} of the repository when the scan started or {@code -1} if unknown.
+     */
+    synchronized void save(long updatedAt) {
+        if (file == null || configured == -1) {
+            return;
+        }
+        current.updatedAt = updatedAt;
+        current.configured = configured;
+        try {
+            File parent = file.getFile().getParentFile();
+            if (parent != null) {
+                Util.createDirectories(parent.toPath());
+            }
+            file.write(current);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not write head snapshot to " + file, e);
+        }
+    }
+
+    /**
+     * The persisted form.
+     */
+    private static final class State {
+        private long updatedAt = -1;
+        private long configured = -1;
+        /**
+         * The branches by name or {@code null} if branches were not listed.
+         */
+        @CheckForNull
+        private TreeMap<String, Entry> branches;
+        /**
+         * The tags by name or {@code null} if tags were not listed.
+         */
+        @CheckForNull
+        private TreeMap<String, Entry> tags;
+    }
+
+    /**
+     * A head in the persisted form.
+     */
+    private static final class Entry {
+        private final String revision;
+        /**
+         * The SHA of the tag object, only for tags.
+         */
+        @CheckForNull
+        private final String id;
+        /**
+         * The outcome of the criteria or {@code null} if the head was not probed, e.g. because it was filtered.
+         */
+        @CheckForNull
+        private Boolean matched;
+
+        private Entry(String revision, @CheckForNull String id) {
+            this.revision = revision;
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2017, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugin.gitea;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.util.FormValidation;
+import jenkins.scm.api.trait.SCMNavigatorContext;
+import jenkins.scm.api.trait.SCMNavigatorTrait;
+import jenkins.scm.api.trait.SCMNavigatorTraitDescriptor;
+import org.jenkinsci.Symbol;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.QueryParameter;
+
+/**
+ * A {@link SCMNavigatorTrait} for {@link GiteaSCMNavigator} that processes several repositories at the same time
+ * when scanning an organization.
+ */
+public class ParallelRepositoryScanTrait extends SCMNavigatorTrait {
+
+    /**
+     * The upper bound on the number of repositories processed at the same time.
+     */
+    static final int MAX_PARALLELISM = 64;
+
+    /**
+     * The number of repositories to process at the same time.
+     */
+    private final int parallelism;
+
+    /**
+     * Constructor for stapler.
+     *
+     * @param parallelism the number of repositories to process at the same time.
+     */
+    @DataBoundConstructor
+    public ParallelRepositoryScanTrait(int parallelism) {
+        this.parallelism = Math.max(1, Math.min(MAX_PARALLELISM, parallelism));
+    }
+
+    /**
+     * Gets the number of repositories to process at the same time.
+     *
+     * @return the number of repositories to process at the same time.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void decorateContext(SCMNavigatorContext<?, ?> context) {
+        super.decorateContext(context);
+        ((GiteaSCMNavigatorContext) context).setParallelism(parallelism);
+    }
+
+    /**
+     * Our descriptor.
+     */
+    @Symbol("giteaParallelRepositoryScan")
+    @Extension
+    public static class DescriptorImpl extends SCMNavigatorTraitDescriptor {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Class<? extends SCMNavigatorContext> getContextClass() {
+            return GiteaSCMNavigatorContext.class;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @NonNull
+        @Override
+        public String getDisplayName() {
+            return Messages.ParallelRepositoryScanTrait_displayName();
+        }
+
+        /**
+         * Form validation.
+         *
+         * @param value the parallelism.
+         * @return the validation results.
+         */
+        @Restricted(NoExternalUse.class)
+        @SuppressWarnings("unused") // stapler form binding
+        public FormValidation doCheckParallelism(@QueryParameter int value) {
+            if (value < 1 || value > MAX_PARALLELISM) {
+                return FormValidation.error(Messages.ParallelRepositoryScanTrait_outOfRange(MAX_PARALLELISM));
+            }
+            return FormValidation.ok();
+        }
+    }
+}
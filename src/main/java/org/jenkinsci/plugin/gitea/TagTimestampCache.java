@@ -0,0 +1,151 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2017, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugin.gitea;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Util;
+import hudson.XmlFile;
+import hudson.util.XStream2;
+import java.io.File;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jenkins.scm.api.SCMSourceOwner;
+
+/**
+ * A persistent cache of tag timestamps for a single {@link GiteaSCMSource}, keyed by the SHA of the tag (the tag object
+ * for annotated tags and the commit for lightweight tags). As both are immutable, once a timestamp is resolved it never
+ * has to be fetched from the server again.
+ */
+final class TagTimestampCache {
+    private static final Logger LOGGER = Logger.getLogger(TagTimestampCache.class.getName());
+    private static final XStream2 XSTREAM = new XStream2();
+    /**
+     * The directory within the {@link SCMSourceOwner#getRootDir()} holding the caches.
+     */
+    private static final String DIRECTORY = "gitea-tag-timestamps";
+    @CheckForNull
+    private final XmlFile file;
+    private final Map<String, Long> timestamps;
+    private final Set<String> seen = new HashSet<>();
+    private boolean dirty;
+
+    TagTimestampCache(@CheckForNull File file) {
+        this.file = file == null ? null : new XmlFile(XSTREAM, file);
+        this.timestamps = read(this.file);
+    }
+
+    /**
+     * Loads the cache for the specified source.
+     *
+     * @param owner    the owner of the source or {@code null} if the source is not attached to an owner.
+     * @param sourceId the {@link GiteaSCMSource#getId()}.
+     * @return the cache, which will only be held in memory if the source has no owner.
+     */
+    @NonNull
+    static TagTimestampCache load(@CheckForNull SCMSourceOwner owner, @NonNull String sourceId) {
+        return new TagTimestampCache(owner == null
+                ? null
+                : new File(new File(owner.getRootDir(), DIRECTORY), Util.getDigestOf(sourceId) + ".xml"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Long> read(@CheckForNull XmlFile file) {
+        if (file != null && file.exists()) {
+            try {
+                Object data = file.read();
+                if (data instanceof Map) {
+                    return new TreeMap<>((Map<String, Long>) data);
+                }
+            } catch (IOException | RuntimeException e) {
+                // the cache is only an optimization, the timestamps will be fetched again
+                LOGGER.log(Level.WARNING, "Could not read tag timestamps from " + file, e);
+            }
+        }
+        return new TreeMap<>();
+    }
+
+    /**
+     * Gets the cached timestamp of the tag.
+     *
+     * @param sha the SHA of the tag.
+     * @return the timestamp or {@code null} if the tag has not been seen before.
+     */
+    @CheckForNull
+    synchronized Long get(@NonNull String sha) {
+        String key = sha.toLowerCase(Locale.ENGLISH);
+        seen.add(key);
+        return timestamps.get(key);
+    }
+
+    /**
+     * Records the timestamp of the tag.
+     *
+     * @param sha       the SHA of the tag.
+     * @param timestamp the timestamp.
+     */
+    synchronized void put(@NonNull String sha, long timestamp) {
+        String key = sha.toLowerCase(Locale.ENGLISH);
+        seen.add(key);
+        Long previous = timestamps.put(key, timestamp);
+        dirty |= previous == null || previous != timestamp;
+    }
+
+    /**
+     * Forgets all tags that have not been looked up since the cache was loaded, i.e. the tags that have been deleted
+     * from the repository. Only call this after all the tags of the repository have been looked up.
+     */
+    synchronized void retainSeen() {
+        dirty |= timestamps.keySet().retainAll(seen);
+    }
+
+    synchronized int size() {
+        return timestamps.size();
+    }
+
+    /**
+     * Writes the cache to disk if it has been modified.
+     */
+    synchronized void save() {
+        if (file == null || !dirty) {
+            return;
+        }
+        try {
+            File parent = file.getFile().getParentFile();
+            if (parent != null) {
+                Util.createDirectories(parent.toPath());
+            }
+            file.write(new TreeMap<>(timestamps));
+            dirty = false;
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not write tag timestamps to " + file, e);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2017, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugin.gitea.client.api;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * The asynchronous companion of {@link GiteaConnection}, use {@link GiteaConnection#async()} to obtain one. The
+ * returned futures complete exceptionally with the {@link IOException} that the equivalent blocking call would have
+ * thrown. Example:
+ * <pre>
+ *     try (GiteaConnection c = Gitea.server(...).as(...).open()) {
+ *         CompletableFuture&lt;List&lt;GiteaBranch&gt;&gt; branches = c.async().fetchBranches(repository);
+ *         CompletableFuture&lt;List&lt;GiteaTag&gt;&gt; tags = c.async().fetchTags(repository);
+ *         // do something else
+ *         for (GiteaBranch b : AsyncGiteaConnection.await(branches)) {
+ *             ...
+ *         }
+ *     }
+ * </pre>
+ */
+public interface AsyncGiteaConnection {
+
+    CompletableFuture<GiteaVersion> fetchVersion();
+
+    CompletableFuture<List<GiteaBranch>> fetchBranches(String username, String name);
+
+    CompletableFuture<List<GiteaBranch>> fetchBranches(GiteaRepository repository);
+
+    CompletableFuture<Iterable<GiteaBranch>> iterateBranches(GiteaRepository repository);
+
+    CompletableFuture<GiteaBranch> fetchBranch(GiteaRepository repository, String name);
+
+    CompletableFuture<List<GiteaTag>> fetchTags(String username, String name);
+
+    CompletableFuture<List<GiteaTag>> fetchTags(GiteaRepository repository);
+
+    CompletableFuture<Iterable<GiteaTag>> iterateTags(GiteaRepository repository);
+
+    CompletableFuture<GiteaTag> fetchTag(GiteaRepository repository, String tag);
+
+    CompletableFuture<GiteaCommitDetail> fetchCommit(String username, String repository, String sha1);
+
+    CompletableFuture<GiteaCommitDetail> fetchCommit(GiteaRepository repository, String sha1);
+
+    CompletableFuture<GiteaCommitStatus> createCommitStatus(String username, String repository, String sha,
+                                                            GiteaCommitStatus status);
+
+    CompletableFuture<GiteaCommitStatus> createCommitStatus(GiteaRepository repository, String sha,
+                                                            GiteaCommitStatus status);
+
+    CompletableFuture<GiteaPullRequest> fetchPullRequest(GiteaRepository repository, long id);
+
+    CompletableFuture<List<GiteaPullRequest>> fetchPullRequests(String username, String name);
+
+    CompletableFuture<List<GiteaPullRequest>> fetchPullRequests(GiteaRepository repository);
+
+    CompletableFuture<List<GiteaPullRequest>> fetchPullRequests(String username, String name,
+                                                                Set<GiteaIssueState> states);
+
+    CompletableFuture<List<GiteaPullRequest>> fetchPullRequests(GiteaRepository repository,
+                                                                Set<GiteaIssueState> states);
+
+    CompletableFuture<List<GiteaPullRequest>> fetchPullRequestSummaries(GiteaRepository repository,
+                                                                        Set<GiteaIssueState> states);
+
+    CompletableFuture<List<GiteaRelease>> fetchReleases(String username, String name, boolean draft,
+                                                        boolean prerelease);
+
+    CompletableFuture<List<GiteaRelease>> fetchReleases(GiteaRepository repository, boolean draft,
+                                                        boolean prerelease);
+
+    /**
+     * Waits for the supplied future to complete, translating the outcome back into the exceptions of the blocking
+     * API. If the waiting thread is interrupted the future is cancelled.
+     *
+     * @param future the future.
+     * @param <T>    the type of result.
+     * @return the result.
+     * @throws IOException          if the call failed.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    static <T> T await(@NonNull CompletableFuture<T> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            throw e;
+        } catch (CancellationException e) {
+            throw (InterruptedIOException) new InterruptedIOException("Cancelled").initCause(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof InterruptedException) {
+                throw (InterruptedException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+}
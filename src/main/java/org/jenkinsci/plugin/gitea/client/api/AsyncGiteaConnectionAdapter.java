@@ -0,0 +1,220 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2017, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugin.gitea.client.api;
+
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import jenkins.util.SystemProperties;
+
+/**
+ * Runs the calls of a blocking {@link GiteaConnection} on a shared, bounded pool of daemon threads so that callers
+ * can have several requests in flight without dedicating a thread of their own to each of them. This is the fallback
+ * for connections whose transport cannot send requests asynchronously. The size of the pool is controlled by the
+ * {@code org.jenkinsci.plugin.gitea.client.api.AsyncGiteaConnection.threads} system property and the number of calls
+ * waiting for a thread by the {@code org.jenkinsci.plugin.gitea.client.api.AsyncGiteaConnection.queueSize} system
+ * property. Once the queue is full, calls run on the calling thread.
+ */
+class AsyncGiteaConnectionAdapter implements AsyncGiteaConnection {
+
+    private final GiteaConnection delegate;
+
+    AsyncGiteaConnectionAdapter(GiteaConnection delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public CompletableFuture<GiteaVersion> fetchVersion() {
+        return supply(delegate::fetchVersion);
+    }
+
+    @Override
+    public CompletableFuture<List<GiteaBranch>> fetchBranches(String username, String name) {
+        return supply(() -> delegate.fetchBranches(username, name));
+    }
+
+    @Override
+    public CompletableFuture<List<GiteaBranch>> fetchBranches(GiteaRepository repository) {
+        return supply(() -> delegate.fetchBranches(repository));
+    }
+
+    @Override
+    public CompletableFuture<Iterable<GiteaBranch>> iterateBranches(GiteaRepository repository) {
+        return supply(() -> delegate.iterateBranches(repository));
+    }
+
+    @Override
+    public CompletableFuture<GiteaBranch> fetchBranch(GiteaRepository repository, String name) {
+        return supply(() -> delegate.fetchBranch(repository, name));
+    }
+
+    @Override
+    public CompletableFuture<List<GiteaTag>> fetchTags(String username, String name) {
+        return supply(() -> delegate.fetchTags(username, name));
+    }
+
+    @Override
+    public CompletableFuture<List<GiteaTag>> fetchTags(GiteaRepository repository) {
+        return supply(() -> delegate.fetchTags(repository));
+    }
+
+    @Override
+    public CompletableFuture<Iterable<GiteaTag>> iterateTags(GiteaRepository repository) {
+        return supply(() -> delegate.iterateTags(repository));
+    }
+
+    @Override
+    public CompletableFuture<GiteaTag> fetchTag(GiteaRepository repository, String tag) {
+        return supply(() -> delegate.fetchTag(repository, tag));
+    }
+
+    @Override
+    public CompletableFuture<GiteaCommitDetail> fetchCommit(String username, String repository, String sha1) {
+        return supply(() -> delegate.fetchCommit(username, repository, sha1));
+    }
+
+    @Override
+    public CompletableFuture<GiteaCommitDetail> fetchCommit(GiteaRepository repository, String sha1) {
+        return supply(() -> delegate.fetchCommit(repository, sha1));
+    }
+
+    @Override
+    public CompletableFuture<GiteaCommitStatus> createCommitStatus(String username, String repository, String sha,
+                                                                   GiteaCommitStatus status) {
+        return supply(() -> delegate.createCommitStatus(username, repository, sha, status));
+    }
+
+    @Override
+    public CompletableFuture<GiteaCommitStatus> createCommitStatus(GiteaRepository repository, String sha,
+                                                                   GiteaCommitStatus status) {
+        return supply(() -> delegate.createCommitStatus(repository, sha, status));
+    }
+
+    @Override
+    public CompletableFuture<GiteaPullRequest> fetchPullRequest(GiteaRepository repository, long id) {
+        return supply(() -> delegate.fetchPullRequest(repository, id));
+    }
+
+    @Override
+    public CompletableFuture<List<GiteaPullRequest>> fetchPullRequests(String username, String name) {
+        return supply(() -> delegate.fetchPullRequests(username, name));
+    }
+
+    @Override
+    public CompletableFuture<List<GiteaPullRequest>> fetchPullRequests(GiteaRepository repository) {
+        return supply(() -> delegate.fetchPullRequests(repository));
+    }
+
+    @Override
+    public CompletableFuture<List<GiteaPullRequest>> fetchPullRequests(String username, String name,
+                                                                       Set<GiteaIssueState> states) {
+        return supply(() -> delegate.fetchPullRequests(username, name, states));
+    }
+
+    @Override
+    public CompletableFuture<List<GiteaPullRequest>> fetchPullRequests(GiteaRepository repository,
+                                                                       Set<GiteaIssueState> states) {
+        return supply(() -> delegate.fetchPullRequests(repository, states));
+    }
+
+    @Override
+    public CompletableFuture<List<GiteaPullRequest>> fetchPullRequestSummaries(GiteaRepository repository,
+                                                                               Set<GiteaIssueState> states) {
+        return supply(() -> delegate.fetchPullRequestSummaries(repository, states));
+    }
+
+    @Override
+    public CompletableFuture<List<GiteaRelease>> fetchReleases(String username, String name, boolean draft,
+                                                               boolean prerelease) {
+        return supply(() -> delegate.fetchReleases(username, name, draft, prerelease));
+    }
+
+    @Override
+    public CompletableFuture<List<GiteaRelease>> fetchReleases(GiteaRepository repository, boolean draft,
+                                                               boolean prerelease) {
+        return supply(() -> delegate.fetchReleases(repository, draft, prerelease));
+    }
+
+    /**
+     * Schedules the supplied call on the shared pool. Cancelling the returned future interrupts the call.
+     *
+     * @param call the call.
+     * @param <T>  the type of result.
+     * @return the future result of the call.
+     */
+    static <T> CompletableFuture<T> supply(Call<T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task = Pool.EXECUTOR.submit(() -> {
+            try {
+                result.complete(call.call());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        result.whenComplete((r, t) -> {
+            if (result.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * A blocking call against a {@link GiteaConnection}.
+     *
+     * @param <T> the type of result.
+     */
+    @FunctionalInterface
+    interface Call<T> {
+        T call() throws Exception;
+    }
+
+    /**
+     * Lazy holder of the shared pool.
+     */
+    private static final class Pool {
+        private static final int THREADS = Math.max(1, SystemProperties.getInteger(
+                AsyncGiteaConnection.class.getName() + ".threads", 16));
+        private static final int QUEUE_SIZE = Math.max(1, SystemProperties.getInteger(
+                AsyncGiteaConnection.class.getName() + ".queueSize", 1024));
+
+        static final ExecutorService EXECUTOR;
+
+        static {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(THREADS, THREADS, 60L, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(QUEUE_SIZE),
+                    new NamingThreadFactory(new DaemonThreadFactory(), "Gitea async client"),
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+            executor.allowCoreThreadTimeOut(true);
+            EXECUTOR = executor;
+        }
+    }
+}
@@ -26,10 +26,24 @@ package org.jenkinsci.plugin.gitea.client.api;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.ExtensionList;
+import hudson.ExtensionListListener;
+import hudson.init.InitMilestone;
+import hudson.init.Initializer;
+import hudson.model.Descriptor;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import jenkins.model.Jenkins;
 import org.jenkinsci.plugin.gitea.client.spi.GiteaConnectionFactory;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
 
 /**
  * Entry point to the Gitea client API for opening a {@link GiteaConnection}.
@@ -61,6 +75,18 @@ public final class Gitea {
     @NonNull
     private GiteaAuth authentication = new GiteaAuthNone();
 
+    /**
+     * The number of items to request per page from paginated end-points or {@code null} to use the server default.
+     */
+    @CheckForNull
+    private Integer pageSize;
+
+    /**
+     * The {@link GiteaConnectionFactory} instances for each {@link ClassLoader}, resolving the factories through
+     * {@link ServiceLoader} scans every plugin so it is only done once per class loader. Guarded by itself.
+     */
+    private static final Map<ClassLoader, Factories> FACTORIES = new WeakHashMap<>();
+
     /**
      * Private constructor.
      *
@@ -102,6 +128,24 @@ public final class Gitea {
         return authentication;
     }
 
+    /**
+     * Specify the number of items to request per page from paginated end-points. The server may cap this at its own
+     * maximum.
+     *
+     * @param pageSize the number of items per page or {@code null} to use the server default.
+     * @return {@code this} for method chaining.
+     */
+    @NonNull
+    public Gitea pageSize(@CheckForNull Integer pageSize) {
+        this.pageSize = pageSize == null || pageSize <= 0 ? null : pageSize;
+        return this;
+    }
+
+    @CheckForNull
+    public Integer pageSize() {
+        return pageSize;
+    }
+
     @CheckForNull
     public ClassLoader classLoader() {
         return classLoader;
@@ -126,17 +170,24 @@ public final class Gitea {
      */
     @NonNull
     public GiteaConnection open() throws IOException, InterruptedException {
-        ServiceLoader<GiteaConnectionFactory> loader = ServiceLoader.load(GiteaConnectionFactory.class, classLoader);
-        long priority = 0L;
-        GiteaConnectionFactory best = null;
-        for (GiteaConnectionFactory factory : loader) {
-            if (factory.canOpen(this)) {
-                long p = factory.priority(this);
-                if (best == null || p > priority) {
-                    best = factory;
-                    priority = p;
+        Factories factories = factories(classLoader);
+        String key = serverUrl + '\n' + authentication.getClass().getName() + '\n' + pageSize;
+        GiteaConnectionFactory best = factories.resolved.get(key);
+        if (best == null || !best.canOpen(this)) {
+            long priority = 0L;
+            best = null;
+            for (GiteaConnectionFactory factory : factories.providers) {
+                if (factory.canOpen(this)) {
+                    long p = factory.priority(this);
+                    if (best == null || p > priority) {
+                        best = factory;
+                        priority = p;
+                    }
                 }
             }
+            if (best != null) {
+                factories.resolved.put(key, best);
+            }
         }
         if (best != null) {
             return best.open(this);
@@ -144,6 +195,69 @@ public final class Gitea {
         throw new IOException("No implementation for connecting to " + serverUrl);
     }
 
+    /**
+     * Returns the {@link GiteaConnectionFactory} implementations available from the supplied {@link ClassLoader}.
+     *
+     * @param classLoader the {@link ClassLoader} or {@code null} for the system class loader.
+     * @return the factories.
+     */
+    @NonNull
+    private static Factories factories(@CheckForNull ClassLoader classLoader) {
+        synchronized (FACTORIES) {
+            Factories factories = FACTORIES.get(classLoader);
+            if (factories == null) {
+                List<GiteaConnectionFactory> providers = new ArrayList<>();
+                for (GiteaConnectionFactory factory : ServiceLoader.load(GiteaConnectionFactory.class, classLoader)) {
+                    providers.add(factory);
+                }
+                factories = new Factories(providers);
+                FACTORIES.put(classLoader, factories);
+            }
+            return factories;
+        }
+    }
+
+    /**
+     * Discards the cached {@link GiteaConnectionFactory} instances and the factory selected for each server, so that
+     * the next {@link #open()} resolves them again.
+     */
+    static void resetFactories() {
+        synchronized (FACTORIES) {
+            FACTORIES.clear();
+        }
+    }
+
+    /**
+     * Discards the cached factories once the plugins have started and registers to discard them again whenever a
+     * plugin is loaded without a restart. Plugins are only ever unloaded or updated by a restart, which replaces the
+     * plugin {@link ClassLoader} that the factories are cached by.
+     */
+    @Initializer(after = InitMilestone.PLUGINS_STARTED)
+    @Restricted(NoExternalUse.class)
+    public static void watchPlugins() {
+        resetFactories();
+        // a dynamically loaded plugin contributes descriptors, refreshing this list
+        ExtensionList.lookup(Descriptor.class).addListener(new ExtensionListListener() {
+            @Override
+            public void onChange() {
+                resetFactories();
+            }
+        });
+    }
+
+    /**
+     * The {@link GiteaConnectionFactory} instances loaded from a {@link ClassLoader} together with the factory
+     * selected for each server URL, type of authentication and page size.
+     */
+    private static final class Factories {
+        private final List<GiteaConnectionFactory> providers;
+        private final ConcurrentMap<String, GiteaConnectionFactory> resolved = new ConcurrentHashMap<>();
+
+        private Factories(List<GiteaConnectionFactory> providers) {
+            this.providers = Collections.unmodifiableList(providers);
+        }
+    }
+
     public Gitea jenkinsPluginClassLoader() {
         // HACK for Jenkins
         // by rights this should be the context classloader, but Jenkins does not expose plugins on that
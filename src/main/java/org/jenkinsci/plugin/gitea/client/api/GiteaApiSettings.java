@@ -0,0 +1,90 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2017, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugin.gitea.client.api;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * The API limits of a Gitea server, as reported by {@code /api/v1/settings/api}.
+ */
+@JsonIgnoreProperties(ignoreUnknown = Gitea.IGNORE_UNKNOWN_PROPERTIES)
+public final class GiteaApiSettings extends GiteaObject<GiteaApiSettings> {
+    private long maxResponseItems;
+    private long defaultPagingNum;
+    private long defaultGitTreesPerPage;
+    private long defaultMaxBlobSize;
+
+    public GiteaApiSettings() {
+    }
+
+    public long getMaxResponseItems() {
+        return maxResponseItems;
+    }
+
+    @JsonProperty("max_response_items")
+    public void setMaxResponseItems(long maxResponseItems) {
+        this.maxResponseItems = maxResponseItems;
+    }
+
+    public long getDefaultPagingNum() {
+        return defaultPagingNum;
+    }
+
+    @JsonProperty("default_paging_num")
+    public void setDefaultPagingNum(long defaultPagingNum) {
+        this.defaultPagingNum = defaultPagingNum;
+    }
+
+    public long getDefaultGitTreesPerPage() {
+        return defaultGitTreesPerPage;
+    }
+
+    @JsonProperty("default_git_trees_per_page")
+    public void setDefaultGitTreesPerPage(long defaultGitTreesPerPage) {
+        this.defaultGitTreesPerPage = defaultGitTreesPerPage;
+    }
+
+    public long getDefaultMaxBlobSize() {
+        return defaultMaxBlobSize;
+    }
+
+    @JsonProperty("default_max_blob_size")
+    public void setDefaultMaxBlobSize(long defaultMaxBlobSize) {
+        this.defaultMaxBlobSize = defaultMaxBlobSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "GiteaApiSettings{" +
+                "maxResponseItems=" + maxResponseItems +
+                ", defaultPagingNum=" + defaultPagingNum +
+                ", defaultGitTreesPerPage=" + defaultGitTreesPerPage +
+                ", defaultMaxBlobSize=" + defaultMaxBlobSize +
+                '}';
+    }
+}
@@ -23,6 +23,7 @@
  */
 package org.jenkinsci.plugin.gitea.client.api;
 
+import edu.umd.cs.findbugs.annotations.CheckForNull;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
@@ -38,8 +39,32 @@ import java.util.Set;
  */
 public interface GiteaConnection extends AutoCloseable {
 
+    /**
+     * Returns the asynchronous view of this connection. The default implementation runs the blocking calls of this
+     * connection on a shared, bounded pool of threads, implementations with a non-blocking transport should override
+     * it.
+     *
+     * @return the asynchronous view of this connection.
+     */
+    default AsyncGiteaConnection async() {
+        return new AsyncGiteaConnectionAdapter(this);
+    }
+
     GiteaVersion fetchVersion() throws IOException, InterruptedException;
 
+    /**
+     * Returns the API limits of the server.
+     *
+     * @return the API limits of the server or {@code null} if this connection cannot tell them, the default
+     * implementation for connections that predate this method.
+     * @throws IOException          if there was a communication error.
+     * @throws InterruptedException if interrupted.
+     */
+    @CheckForNull
+    default GiteaApiSettings fetchApiSettings() throws IOException, InterruptedException {
+        return null;
+    }
+
     GiteaUser fetchCurrentUser() throws IOException, InterruptedException;
 
     GiteaOwner fetchOwner(String name) throws IOException, InterruptedException;
@@ -68,6 +93,25 @@ public interface GiteaConnection extends AutoCloseable {
 
     List<GiteaBranch> fetchBranches(GiteaRepository repository) throws IOException, InterruptedException;
 
+    /**
+     * Returns the branches of the repository, implementations are encouraged to fetch the pages of the result lazily as
+     * the iteration progresses. If the returned iterable is {@link java.io.Closeable} it should be closed once no
+     * longer required.
+     *
+     * @param username the repository owner.
+     * @param name     the repository name.
+     * @return the branches.
+     * @throws IOException          if the first page of the result could not be fetched.
+     * @throws InterruptedException if interrupted.
+     */
+    default Iterable<GiteaBranch> iterateBranches(String username, String name) throws IOException, InterruptedException {
+        return fetchBranches(username, name);
+    }
+
+    default Iterable<GiteaBranch> iterateBranches(GiteaRepository repository) throws IOException, InterruptedException {
+        return iterateBranches(repository.getOwner().getUsername(), repository.getName());
+    }
+
     GiteaAnnotatedTag fetchAnnotatedTag(String username, String repository, String sha1) throws IOException, InterruptedException;
 
     GiteaAnnotatedTag fetchAnnotatedTag(GiteaRepository repository, GiteaTag tag) throws IOException, InterruptedException;
@@ -80,6 +124,25 @@ public interface GiteaConnection extends AutoCloseable {
 
     List<GiteaTag> fetchTags(GiteaRepository repository) throws IOException, InterruptedException;
 
+    /**
+     * Returns the tags of the repository, implementations are encouraged to fetch the pages of the result lazily as
+     * the iteration progresses. If the returned iterable is {@link java.io.Closeable} it should be closed once no
+     * longer required.
+     *
+     * @param username the repository owner.
+     * @param name     the repository name.
+     * @return the tags.
+     * @throws IOException          if the first page of the result could not be fetched.
+     * @throws InterruptedException if interrupted.
+     */
+    default Iterable<GiteaTag> iterateTags(String username, String name) throws IOException, InterruptedException {
+        return fetchTags(username, name);
+    }
+
+    default Iterable<GiteaTag> iterateTags(GiteaRepository repository) throws IOException, InterruptedException {
+        return iterateTags(repository.getOwner().getUsername(), repository.getName());
+    }
+
     GiteaCommitDetail fetchCommit(String username, String repository, String sha1) throws IOException, InterruptedException;
 
     GiteaCommitDetail fetchCommit(GiteaRepository repository, String sha1) throws IOException, InterruptedException;
@@ -141,6 +204,23 @@ public interface GiteaConnection extends AutoCloseable {
     List<GiteaPullRequest> fetchPullRequests(GiteaRepository repository, Set<GiteaIssueState> states)
             throws IOException, InterruptedException;
 
+    /**
+     * Returns the pull requests of the repository for indexing. Implementations may return projections that only
+     * carry the identity, title, state and URL of each pull request together with its base and head references,
+     * where the repository of each reference only carries its identity, owner and name. Use
+     * {@link #fetchPullRequest(GiteaRepository, long)} when the full details are required.
+     *
+     * @param repository the repository.
+     * @param states     the states of the pull requests to list.
+     * @return the pull requests.
+     * @throws IOException          if the pull requests could not be listed.
+     * @throws InterruptedException if interrupted.
+     */
+    default List<GiteaPullRequest> fetchPullRequestSummaries(GiteaRepository repository, Set<GiteaIssueState> states)
+            throws IOException, InterruptedException {
+        return fetchPullRequests(repository, states);
+    }
+
     List<GiteaIssue> fetchIssues(String username, String name) throws IOException, InterruptedException;
 
     List<GiteaIssue> fetchIssues(GiteaRepository repository) throws IOException, InterruptedException;
@@ -155,6 +235,21 @@ public interface GiteaConnection extends AutoCloseable {
 
     boolean checkFile(GiteaRepository repository, String ref, String path) throws IOException, InterruptedException;
 
+    /**
+     * Lists the entries of a tree (non-recursively), following all pages of the listing.
+     *
+     * @param repository the repository.
+     * @param sha        the SHA1 of the tree, or a commit SHA1 or ref name for the root tree of that revision.
+     * @return the tree or {@code null} if this connection cannot list trees, in which case callers fall back to
+     * {@link #checkFile(GiteaRepository, String, String)}.
+     * @throws IOException          if there was a communication error.
+     * @throws InterruptedException if interrupted.
+     */
+    @CheckForNull
+    default GiteaTree fetchTree(GiteaRepository repository, String sha) throws IOException, InterruptedException {
+        return null;
+    }
+
     List<GiteaRelease> fetchReleases(String username, String name, boolean draft, boolean prerelease) throws IOException, InterruptedException;
 
     List<GiteaRelease> fetchReleases(GiteaRepository repository, boolean draft, boolean prerelease) throws IOException, InterruptedException;
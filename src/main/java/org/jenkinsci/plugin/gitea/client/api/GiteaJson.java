@@ -0,0 +1,139 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2017, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugin.gitea.client.api;
+
+import com.fasterxml.jackson.annotation.JsonIncludeProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.util.StdDateFormat;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.List;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * The process wide JSON configuration for the Gitea model classes. The underlying {@link ObjectMapper} is never
+ * exposed or reconfigured after construction so the {@link ObjectReader} and {@link ObjectWriter} instances, which
+ * are immutable and thread safe, can be created once per model type and shared, along with the deserializers that
+ * Jackson caches against them.
+ */
+@Restricted(NoExternalUse.class)
+public final class GiteaJson {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final ObjectWriter WRITER = MAPPER.writer(new StdDateFormat());
+
+    /**
+     * The mapper for indexing projections, the mix-ins restrict the model types to the properties that indexing
+     * reads so that Jackson skips over everything else in the stream without building any objects for it.
+     */
+    private static final ObjectMapper PROJECTION_MAPPER = new ObjectMapper()
+            .addMixIn(GiteaPullRequest.class, PullRequestProjection.class)
+            .addMixIn(GiteaRepository.class, RepositoryProjection.class)
+            .addMixIn(GiteaOwner.class, OwnerProjection.class);
+
+    private static final ClassValue<ObjectReader> READERS = new ClassValue<ObjectReader>() {
+        @Override
+        protected ObjectReader computeValue(Class<?> type) {
+            return MAPPER.readerFor(type);
+        }
+    };
+
+    private static final ClassValue<ObjectReader> LIST_READERS = new ClassValue<ObjectReader>() {
+        @Override
+        protected ObjectReader computeValue(Class<?> type) {
+            return MAPPER.readerFor(MAPPER.getTypeFactory().constructCollectionType(List.class, type));
+        }
+    };
+
+    private static final ClassValue<ObjectReader> PROJECTION_READERS = new ClassValue<ObjectReader>() {
+        @Override
+        protected ObjectReader computeValue(Class<?> type) {
+            return PROJECTION_MAPPER.readerFor(type);
+        }
+    };
+
+    private GiteaJson() {
+    }
+
+    /**
+     * Returns the reader for a model type.
+     *
+     * @param type the model type.
+     * @return the reader.
+     */
+    @NonNull
+    public static ObjectReader reader(@NonNull Class<?> type) {
+        return READERS.get(type);
+    }
+
+    /**
+     * Returns the reader for a JSON array of a model type, the reader produces a {@link List}.
+     *
+     * @param type the model type of the elements.
+     * @return the reader.
+     */
+    @NonNull
+    public static ObjectReader listReader(@NonNull Class<?> type) {
+        return LIST_READERS.get(type);
+    }
+
+    /**
+     * Returns the reader for the indexing projection of a model type. The projection of a
+     * {@link GiteaPullRequest} only carries its identity, title, state, URL and the base and head references, the
+     * repositories of the references only carry their identity, owner and name, and owners only carry their
+     * identity and login.
+     *
+     * @param type the model type.
+     * @return the reader.
+     */
+    @NonNull
+    public static ObjectReader projectionReader(@NonNull Class<?> type) {
+        return PROJECTION_READERS.get(type);
+    }
+
+    /**
+     * Returns the writer for request bodies, dates are written in ISO-8601 format.
+     *
+     * @return the writer.
+     */
+    @NonNull
+    public static ObjectWriter writer() {
+        return WRITER;
+    }
+
+    @JsonIncludeProperties({"id", "url", "number", "title", "state", "html_url", "base", "head", "updated_at"})
+    private abstract static class PullRequestProjection {
+    }
+
+    @JsonIncludeProperties({"id", "owner", "name", "full_name"})
+    private abstract static class RepositoryProjection {
+    }
+
+    @JsonIncludeProperties({"id", "login", "username"})
+    private abstract static class OwnerProjection {
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugin.gitea.client.api;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Represents a git tree, i.e. the listing of a directory at some revision.
+ */
+@JsonIgnoreProperties(ignoreUnknown = Gitea.IGNORE_UNKNOWN_PROPERTIES)
+public final class GiteaTree extends GiteaObject<GiteaTree> {
+    /**
+     * The SHA1 of the tree object.
+     */
+    private String sha;
+    private String url;
+    private List<Entry> tree = new ArrayList<>();
+    /**
+     * {@code true} if the listing has more entries than returned in this page.
+     */
+    private boolean truncated;
+    private int page;
+    private long totalCount;
+
+    public GiteaTree() {
+    }
+
+    public GiteaTree(String sha, List<Entry> tree) {
+        this.sha = sha;
+        setTree(tree);
+    }
+
+    /**
+     * Gets the SHA1 of the tree object.
+     *
+     * @return the SHA1 of the tree object.
+     */
+    public String getSha() {
+        return sha;
+    }
+
+    /**
+     * Sets the SHA1 of the tree object.
+     *
+     * @param sha the SHA1 of the tree object.
+     */
+    public void setSha(String sha) {
+        this.sha = sha;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public List<Entry> getTree() {
+        return tree.stream().map(Entry::clone).collect(Collectors.toList());
+    }
+
+    public void setTree(List<Entry> tree) {
+        this.tree = tree == null
+                ? new ArrayList<>()
+                : tree.stream().map(Entry::clone).collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    @JsonProperty("total_count")
+    public void setTotalCount(long totalCount) {
+        this.totalCount = totalCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public GiteaTree clone() {
+        GiteaTree result = super.clone();
+        result.tree = new ArrayList<>(tree.size());
+        for (Entry entry : tree) {
+            result.tree.add(entry.clone());
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "GiteaTree{"
+                + "sha='" + sha + '\''
+                + ", url='" + url + '\''
+                + ", tree=" + tree
+                + ", truncated=" + truncated
+                + ", page=" + page
+                + ", totalCount=" + totalCount
+                + '}';
+    }
+
+    /**
+     * An entry in a {@link GiteaTree}.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = Gitea.IGNORE_UNKNOWN_PROPERTIES)
+    public static class Entry extends GiteaObject<Entry> implements Cloneable {
+        /**
+         * The mode of symbolic links.
+         */
+        public static final String MODE_SYMLINK = "120000";
+        /**
+         * The name of the entry, or the path relative to the tree for recursive listings.
+         */
+        private String path;
+        private String mode;
+        /**
+         * The type of object, one of {@code blob}, {@code tree} or {@code commit} (for submodules).
+         */
+        private String type;
+        private long size;
+        private String sha;
+        private String url;
+
+        public Entry() {
+        }
+
+        public Entry(String path, String mode, String type, long size, String sha) {
+            this.path = path;
+            this.mode = mode;
+            this.type = type;
+            this.size = size;
+            this.sha = sha;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public String getMode() {
+            return mode;
+        }
+
+        public void setMode(String mode) {
+            this.mode = mode;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public void setType(String type) {
+            this.type = type;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public void setSize(long size) {
+            this.size = size;
+        }
+
+        public String getSha() {
+            return sha;
+        }
+
+        public void setSha(String sha) {
+            this.sha = sha;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return "Entry{"
+                    + "path='" + path + '\''
+                    + ", mode='" + mode + '\''
+                    + ", type='" + type + '\''
+                    + ", size=" + size
+                    + ", sha='" + sha + '\''
+                    + '}';
+        }
+    }
+}
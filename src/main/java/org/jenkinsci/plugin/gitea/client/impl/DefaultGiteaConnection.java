@@ -25,15 +25,22 @@ package org.jenkinsci.plugin.gitea.client.impl;
 
 import com.damnhandy.uri.template.UriTemplate;
 import com.damnhandy.uri.template.UriTemplateBuilder;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.util.StdDateFormat;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.io.PushbackInputStream;
+import java.io.SequenceInputStream;
 import java.lang.reflect.Field;
 import java.net.HttpURLConnection;
 import java.net.ProtocolException;
@@ -43,20 +50,40 @@ import java.nio.charset.StandardCharsets;
 import java.security.AccessController;
 import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
-import java.util.Iterator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
 import javax.net.ssl.HttpsURLConnection;
 import jenkins.model.Jenkins;
+import jenkins.util.SystemProperties;
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
+import org.jenkinsci.plugin.gitea.client.api.AsyncGiteaConnection;
 import org.jenkinsci.plugin.gitea.client.api.GiteaAnnotatedTag;
+import org.jenkinsci.plugin.gitea.client.api.GiteaApiSettings;
 import org.jenkinsci.plugin.gitea.client.api.GiteaAuth;
 import org.jenkinsci.plugin.gitea.client.api.GiteaAuthToken;
 import org.jenkinsci.plugin.gitea.client.api.GiteaAuthUser;
@@ -68,12 +95,14 @@ import org.jenkinsci.plugin.gitea.client.api.GiteaHook;
 import org.jenkinsci.plugin.gitea.client.api.GiteaHttpStatusException;
 import org.jenkinsci.plugin.gitea.client.api.GiteaIssue;
 import org.jenkinsci.plugin.gitea.client.api.GiteaIssueState;
+import org.jenkinsci.plugin.gitea.client.api.GiteaJson;
 import org.jenkinsci.plugin.gitea.client.api.GiteaOrganization;
 import org.jenkinsci.plugin.gitea.client.api.GiteaOwner;
 import org.jenkinsci.plugin.gitea.client.api.GiteaPullRequest;
 import org.jenkinsci.plugin.gitea.client.api.GiteaRelease;
 import org.jenkinsci.plugin.gitea.client.api.GiteaRepository;
 import org.jenkinsci.plugin.gitea.client.api.GiteaTag;
+import org.jenkinsci.plugin.gitea.client.api.GiteaTree;
 import org.jenkinsci.plugin.gitea.client.api.GiteaUser;
 import org.jenkinsci.plugin.gitea.client.api.GiteaVersion;
 import org.kohsuke.accmod.Restricted;
@@ -89,12 +118,31 @@ class DefaultGiteaConnection implements GiteaConnection {
     private final String serverUrl;
 
     private final GiteaAuth authentication;
-    private final ObjectMapper mapper = new ObjectMapper();
+
+    /**
+     * The requested number of items per page or {@code null} to use the server default.
+     */
+    @CheckForNull
+    private final Integer pageSize;
+
+    /**
+     * The maximum number of items per page that each server will return, keyed by server URL, as connections are
+     * short-lived. Only a successful answer or a definite 404 from servers that predate the settings end-point is
+     * remembered, {@code 0} meaning the server did not say.
+     */
+    private static final ConcurrentMap<String, Long> MAX_RESPONSE_ITEMS = new ConcurrentHashMap<>();
 
     DefaultGiteaConnection(@NonNull String serverUrl,
                            @NonNull GiteaAuth authentication) {
+        this(serverUrl, authentication, null);
+    }
+
+    DefaultGiteaConnection(@NonNull String serverUrl,
+                           @NonNull GiteaAuth authentication,
+                           @CheckForNull Integer pageSize) {
         this.serverUrl = serverUrl;
         this.authentication = authentication;
+        this.pageSize = pageSize;
     }
 
     /**
@@ -139,12 +187,24 @@ class DefaultGiteaConnection implements GiteaConnection {
 
     @Override
     public GiteaVersion fetchVersion() throws IOException, InterruptedException {
-        return getObject(
-                api()
-                        .literal("/version")
-                        .build(),
-                GiteaVersion.class
-        );
+        return getObject(version(), GiteaVersion.class);
+    }
+
+    UriTemplate version() {
+        return api()
+                .literal("/version")
+                .build();
+    }
+
+    @Override
+    public GiteaApiSettings fetchApiSettings() throws IOException, InterruptedException {
+        return getObject(apiSettings(), GiteaApiSettings.class);
+    }
+
+    UriTemplate apiSettings() {
+        return api()
+                .literal("/settings/api")
+                .build();
     }
 
     @Override
@@ -267,19 +327,20 @@ class DefaultGiteaConnection implements GiteaConnection {
     @Override
     public GiteaBranch fetchBranch(String username, String repository, String name)
             throws IOException, InterruptedException {
-        return getObject(
-                api()
-                        .literal("/repos")
-                        .path(UriTemplateBuilder.var("username"))
-                        .path(UriTemplateBuilder.var("repository"))
-                        .literal("/branches")
-                        .path(UriTemplateBuilder.var("name", true))
-                        .build()
-                        .set("username", username)
-                        .set("repository", repository)
-                        .set("name", StringUtils.split(name, '/')),
-                GiteaBranch.class
-        );
+        return getObject(branch(username, repository, name), GiteaBranch.class);
+    }
+
+    UriTemplate branch(String username, String repository, String name) {
+        return api()
+                .literal("/repos")
+                .path(UriTemplateBuilder.var("username"))
+                .path(UriTemplateBuilder.var("repository"))
+                .literal("/branches")
+                .path(UriTemplateBuilder.var("name", true))
+                .build()
+                .set("username", username)
+                .set("repository", repository)
+                .set("name", StringUtils.split(name, '/'));
     }
 
     @Override
@@ -289,17 +350,28 @@ class DefaultGiteaConnection implements GiteaConnection {
 
     @Override
     public List<GiteaBranch> fetchBranches(String username, String name) throws IOException, InterruptedException {
-        return getList(
-                api()
-                        .literal("/repos")
-                        .path(UriTemplateBuilder.var("username"))
-                        .path(UriTemplateBuilder.var("name"))
-                        .literal("/branches")
-                        .build()
-                        .set("username", username)
-                        .set("name", name),
-                GiteaBranch.class
-        );
+        return getList(branches(username, name), GiteaBranch.class);
+    }
+
+    @Override
+    public Iterable<GiteaBranch> iterateBranches(String username, String name) throws IOException, InterruptedException {
+        return iterate(branches(username, name), GiteaBranch.class);
+    }
+
+    @Override
+    public Iterable<GiteaBranch> iterateBranches(GiteaRepository repository) throws IOException, InterruptedException {
+        return iterateBranches(repository.getOwner().getUsername(), repository.getName());
+    }
+
+    UriTemplate branches(String username, String name) {
+        return api()
+                .literal("/repos")
+                .path(UriTemplateBuilder.var("username"))
+                .path(UriTemplateBuilder.var("name"))
+                .literal("/branches")
+                .build()
+                .set("username", username)
+                .set("name", name);
     }
 
     @Override
@@ -333,19 +405,20 @@ class DefaultGiteaConnection implements GiteaConnection {
 
     @Override
     public GiteaTag fetchTag(String username, String repository, String tag) throws IOException, InterruptedException {
-        return getObject(
-                api()
-                        .literal("/repos")
-                        .path(UriTemplateBuilder.var("username"))
-                        .path(UriTemplateBuilder.var("name"))
-                        .literal("/tags")
-                        .path(UriTemplateBuilder.var("tag"))
-                        .build()
-                        .set("username", username)
-                        .set("name", repository)
-                        .set("tag", tag),
-                GiteaTag.class
-        );
+        return getObject(tag(username, repository, tag), GiteaTag.class);
+    }
+
+    UriTemplate tag(String username, String repository, String tag) {
+        return api()
+                .literal("/repos")
+                .path(UriTemplateBuilder.var("username"))
+                .path(UriTemplateBuilder.var("name"))
+                .literal("/tags")
+                .path(UriTemplateBuilder.var("tag"))
+                .build()
+                .set("username", username)
+                .set("name", repository)
+                .set("tag", tag);
     }
 
     @Override
@@ -355,17 +428,28 @@ class DefaultGiteaConnection implements GiteaConnection {
 
     @Override
     public List<GiteaTag> fetchTags(String username, String name) throws IOException, InterruptedException {
-        return getList(
-                api()
-                        .literal("/repos")
-                        .path(UriTemplateBuilder.var("username"))
-                        .path(UriTemplateBuilder.var("name"))
-                        .literal("/tags")
-                        .build()
-                        .set("username", username)
-                        .set("name", name),
-                GiteaTag.class
-        );
+        return getList(tags(username, name), GiteaTag.class);
+    }
+
+    @Override
+    public Iterable<GiteaTag> iterateTags(String username, String name) throws IOException, InterruptedException {
+        return iterate(tags(username, name), GiteaTag.class);
+    }
+
+    @Override
+    public Iterable<GiteaTag> iterateTags(GiteaRepository repository) throws IOException, InterruptedException {
+        return iterateTags(repository.getOwner().getUsername(), repository.getName());
+    }
+
+    UriTemplate tags(String username, String name) {
+        return api()
+                .literal("/repos")
+                .path(UriTemplateBuilder.var("username"))
+                .path(UriTemplateBuilder.var("name"))
+                .literal("/tags")
+                .build()
+                .set("username", username)
+                .set("name", name);
     }
 
     @Override
@@ -376,19 +460,20 @@ class DefaultGiteaConnection implements GiteaConnection {
     @Override
     public GiteaCommitDetail fetchCommit(String username, String repository, String sha1)
             throws IOException, InterruptedException {
-        return getObject(
-                api()
-                        .literal("/repos")
-                        .path(UriTemplateBuilder.var("username"))
-                        .path(UriTemplateBuilder.var("repository"))
-                        .literal("/git/commits")
-                        .path(UriTemplateBuilder.var("sha1"))
-                        .build()
-                        .set("username", username)
-                        .set("repository", repository)
-                        .set("sha1", sha1),
-                GiteaCommitDetail.class
-        );
+        return getObject(commit(username, repository, sha1), GiteaCommitDetail.class);
+    }
+
+    UriTemplate commit(String username, String repository, String sha1) {
+        return api()
+                .literal("/repos")
+                .path(UriTemplateBuilder.var("username"))
+                .path(UriTemplateBuilder.var("repository"))
+                .literal("/git/commits")
+                .path(UriTemplateBuilder.var("sha1"))
+                .build()
+                .set("username", username)
+                .set("repository", repository)
+                .set("sha1", sha1);
     }
 
     @Override
@@ -616,17 +701,20 @@ class DefaultGiteaConnection implements GiteaConnection {
     @Override
     public GiteaCommitStatus createCommitStatus(String username, String repository, String sha,
                                                 GiteaCommitStatus status) throws IOException, InterruptedException {
-        return post(api()
-                        .literal("/repos")
-                        .path(UriTemplateBuilder.var("username"))
-                        .path(UriTemplateBuilder.var("name"))
-                        .literal("/statuses")
-                        .path(UriTemplateBuilder.var("sha"))
-                        .build()
-                        .set("username", username)
-                        .set("name", repository)
-                        .set("sha", sha),
-                status, GiteaCommitStatus.class);
+        return post(statuses(username, repository, sha), status, GiteaCommitStatus.class);
+    }
+
+    UriTemplate statuses(String username, String repository, String sha) {
+        return api()
+                .literal("/repos")
+                .path(UriTemplateBuilder.var("username"))
+                .path(UriTemplateBuilder.var("name"))
+                .literal("/statuses")
+                .path(UriTemplateBuilder.var("sha"))
+                .build()
+                .set("username", username)
+                .set("name", repository)
+                .set("sha", sha);
     }
 
     @Override
@@ -638,19 +726,20 @@ class DefaultGiteaConnection implements GiteaConnection {
     @Override
     public GiteaPullRequest fetchPullRequest(String username, String name, long id)
             throws IOException, InterruptedException {
-        return getObject(
-                api()
-                        .literal("/repos")
-                        .path(UriTemplateBuilder.var("username"))
-                        .path(UriTemplateBuilder.var("name"))
-                        .literal("/pulls")
-                        .path(UriTemplateBuilder.var("id"))
-                        .build()
-                        .set("username", username)
-                        .set("name", name)
-                        .set("id", Long.toString(id)),
-                GiteaPullRequest.class
-        );
+        return getObject(pullRequest(username, name, id), GiteaPullRequest.class);
+    }
+
+    UriTemplate pullRequest(String username, String name, long id) {
+        return api()
+                .literal("/repos")
+                .path(UriTemplateBuilder.var("username"))
+                .path(UriTemplateBuilder.var("name"))
+                .literal("/pulls")
+                .path(UriTemplateBuilder.var("id"))
+                .build()
+                .set("username", username)
+                .set("name", name)
+                .set("id", Long.toString(id));
     }
 
     @Override
@@ -674,29 +763,21 @@ class DefaultGiteaConnection implements GiteaConnection {
     @Override
     public List<GiteaPullRequest> fetchPullRequests(String username, String name, Set<GiteaIssueState> states)
             throws IOException, InterruptedException {
-        String state = null;
-        if (states != null && states.size() == 1) {
-            // state query only works if there is one state
-            for (GiteaIssueState s : GiteaIssueState.values()) {
-                if (states.contains(s)) {
-                    state = s.getKey();
-                }
-            }
-        }
+        return pullRequests(username, name, states, GiteaJson.reader(GiteaPullRequest.class));
+    }
+
+    @Override
+    public List<GiteaPullRequest> fetchPullRequestSummaries(GiteaRepository repository, Set<GiteaIssueState> states)
+            throws IOException, InterruptedException {
+        return pullRequests(repository.getOwner().getUsername(), repository.getName(), states,
+                GiteaJson.projectionReader(GiteaPullRequest.class));
+    }
+
+    private List<GiteaPullRequest> pullRequests(String username, String name, Set<GiteaIssueState> states,
+                                                ObjectReader reader)
+            throws IOException, InterruptedException {
         try {
-            return getList(
-                    api()
-                            .literal("/repos")
-                            .path(UriTemplateBuilder.var("username"))
-                            .path(UriTemplateBuilder.var("name"))
-                            .literal("/pulls")
-                            .query(UriTemplateBuilder.var("state"))
-                            .build()
-                            .set("username", username)
-                            .set("name", name)
-                            .set("state", state),
-                    GiteaPullRequest.class
-            );
+            return getList(pullRequests(username, name, states), GiteaPullRequest.class, reader);
         } catch (GiteaHttpStatusException e) {
             // Gitea REST API returns HTTP Code 404 when pull requests or issues are disabled
             // Therefore we need to handle this case and return a empty List
@@ -709,6 +790,28 @@ class DefaultGiteaConnection implements GiteaConnection {
         }
     }
 
+    UriTemplate pullRequests(String username, String name, Set<GiteaIssueState> states) {
+        String state = null;
+        if (states != null && states.size() == 1) {
+            // state query only works if there is one state
+            for (GiteaIssueState s : GiteaIssueState.values()) {
+                if (states.contains(s)) {
+                    state = s.getKey();
+                }
+            }
+        }
+        return api()
+                .literal("/repos")
+                .path(UriTemplateBuilder.var("username"))
+                .path(UriTemplateBuilder.var("name"))
+                .literal("/pulls")
+                .query(UriTemplateBuilder.var("state"))
+                .build()
+                .set("username", username)
+                .set("name", name)
+                .set("state", state);
+    }
+
     @Override
     public List<GiteaPullRequest> fetchPullRequests(GiteaRepository repository, Set<GiteaIssueState> states)
             throws IOException, InterruptedException {
@@ -787,21 +890,24 @@ class DefaultGiteaConnection implements GiteaConnection {
                 .set("name", repository.getName())
                 .set("ref", StringUtils.split(ref, '/'))
                 .set("path", StringUtils.split(path, "/")));
-        withAuthentication(connection);
         try {
+            withAuthentication(connection);
+            withCompression(connection);
             connection.connect();
             int status = connection.getResponseCode();
             if (status == 404) {
+                consume(connection);
                 throw new FileNotFoundException(path);
             }
             if (status / 100 == 2) {
-                try (InputStream is = connection.getInputStream()) {
+                try (InputStream is = inputStream(connection)) {
                     return IOUtils.toByteArray(is);
                 }
             }
+            consume(connection);
             throw new IOException("HTTP " + status + "/" + connection.getResponseMessage());
         } finally {
-            connection.disconnect();
+            release(connection);
         }
     }
 
@@ -820,10 +926,12 @@ class DefaultGiteaConnection implements GiteaConnection {
                 .set("name", repository.getName())
                 .set("ref", StringUtils.split(ref, '/'))
                 .set("path", StringUtils.split(path, "/")));
-        withAuthentication(connection);
         try {
+            withAuthentication(connection);
+            withCompression(connection);
             connection.connect();
             int status = connection.getResponseCode();
+            consume(connection);
             if (status == 404) {
                 return false;
             }
@@ -832,46 +940,44 @@ class DefaultGiteaConnection implements GiteaConnection {
             }
             throw new IOException("HTTP " + status + "/" + connection.getResponseMessage());
         } finally {
-            connection.disconnect();
+            release(connection);
         }
     }
 
     @Override
-    public List<GiteaRelease> fetchReleases(String username, String name, boolean draft, boolean prerelease)
-            throws IOException, InterruptedException {
-        try {
-            StringBuilder params = new StringBuilder();
-            if (!draft || !prerelease) {
-                // gitea's api makes the "draft" and "pre-release" flags "tri-state":
-                // - Not present means do nothing, drafts/pre-releases are included
-                // - Present + "false" means remove them from the result
-                // - Present + "true" means return ONLY those; means with "draft=true" we ONLY get drafts.
-                params.append("?");
-                if (!draft) {
-                    params.append("draft=false");
-                }
-                if (!prerelease) {
-                    if (!draft) {
-                        params.append("&");
-                    }
-                    params.append("pre-release=false");
-                }
-            }
-
-            return getList(
+    public GiteaTree fetchTree(GiteaRepository repository, String sha) throws IOException, InterruptedException {
+        List<GiteaTree.Entry> entries = new ArrayList<>();
+        GiteaTree tree;
+        int page = 1;
+        do {
+            tree = getObject(
                     api()
                             .literal("/repos")
                             .path(UriTemplateBuilder.var("username"))
                             .path(UriTemplateBuilder.var("name"))
-                            .literal("/releases")
-                            // Unfortunately, "pre-release" is not a valid variable name.
-                            // So we have to craft the query part on our own.
-                            .literal(params.toString())
+                            .literal("/git/trees")
+                            .path(UriTemplateBuilder.var("sha"))
+                            .query(UriTemplateBuilder.var("page"))
                             .build()
-                            .set("username", username)
-                            .set("name", name),
-                    GiteaRelease.class
+                            .set("username", repository.getOwner().getUsername())
+                            .set("name", repository.getName())
+                            .set("sha", sha)
+                            .set("page", page > 1 ? page : null),
+                    GiteaTree.class
             );
+            entries.addAll(tree.getTree());
+            page++;
+        } while (tree.isTruncated() && !tree.getTree().isEmpty());
+        tree.setTree(entries);
+        tree.setTruncated(false);
+        return tree;
+    }
+
+    @Override
+    public List<GiteaRelease> fetchReleases(String username, String name, boolean draft, boolean prerelease)
+            throws IOException, InterruptedException {
+        try {
+            return getList(releases(username, name, draft, prerelease), GiteaRelease.class);
         } catch (GiteaHttpStatusException e) {
             // Gitea REST API returns HTTP Code 404 when pull requests or issues are disabled
             // Therefore we need to handle this case and return a empty List
@@ -884,6 +990,37 @@ class DefaultGiteaConnection implements GiteaConnection {
         }
     }
 
+    UriTemplate releases(String username, String name, boolean draft, boolean prerelease) {
+        StringBuilder params = new StringBuilder();
+        if (!draft || !prerelease) {
+            // gitea's api makes the "draft" and "pre-release" flags "tri-state":
+            // - Not present means do nothing, drafts/pre-releases are included
+            // - Present + "false" means remove them from the result
+            // - Present + "true" means return ONLY those; means with "draft=true" we ONLY get drafts.
+            params.append("?");
+            if (!draft) {
+                params.append("draft=false");
+            }
+            if (!prerelease) {
+                if (!draft) {
+                    params.append("&");
+                }
+                params.append("pre-release=false");
+            }
+        }
+        return api()
+                .literal("/repos")
+                .path(UriTemplateBuilder.var("username"))
+                .path(UriTemplateBuilder.var("name"))
+                .literal("/releases")
+                // Unfortunately, "pre-release" is not a valid variable name.
+                // So we have to craft the query part on our own.
+                .literal(params.toString())
+                .build()
+                .set("username", username)
+                .set("name", name);
+    }
+
     @Override
     public List<GiteaRelease> fetchReleases(GiteaRepository repository, boolean draft, boolean prerelease)
             throws IOException, InterruptedException {
@@ -926,177 +1063,406 @@ class DefaultGiteaConnection implements GiteaConnection {
     }
 
     private void withAuthentication(HttpURLConnection connection) {
+        String authorization = authorization();
+        if (authorization != null) {
+            connection.setRequestProperty("Authorization", authorization);
+        }
+    }
+
+    private static void withCompression(HttpURLConnection connection) {
+        connection.setRequestProperty("Accept-Encoding", "gzip, deflate");
+    }
+
+    /**
+     * Returns the response body, decoding any {@code Content-Encoding} that was negotiated by
+     * {@link #withCompression(HttpURLConnection)}.
+     *
+     * @param connection the connection.
+     * @return the decoded response body.
+     * @throws IOException if the body could not be opened.
+     */
+    static InputStream inputStream(HttpURLConnection connection) throws IOException {
+        InputStream is = connection.getInputStream();
+        String encoding = StringUtils.trimToEmpty(connection.getHeaderField("Content-Encoding"));
+        if (encoding.isEmpty() || connection.getContentLengthLong() == 0L) {
+            return is;
+        }
+        if ("gzip".equalsIgnoreCase(encoding) || "x-gzip".equalsIgnoreCase(encoding)) {
+            return new GZIPInputStream(is);
+        }
+        if ("deflate".equalsIgnoreCase(encoding)) {
+            // RFC 9110 requires the zlib wrapper but some servers send a raw deflate stream
+            PushbackInputStream pis = new PushbackInputStream(is, 2);
+            byte[] header = new byte[2];
+            int len = IOUtils.read(pis, header);
+            pis.unread(header, 0, len);
+            boolean zlib = len == 2 && (header[0] & 0x0f) == 8
+                    && (((header[0] & 0xff) << 8) | (header[1] & 0xff)) % 31 == 0;
+            final Inflater inflater = new Inflater(!zlib);
+            return new InflaterInputStream(pis, inflater) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        inflater.end();
+                    }
+                }
+            };
+        }
+        return is;
+    }
+
+    @CheckForNull
+    private String authorization() {
         if (authentication instanceof GiteaAuthUser) {
             String auth = (((GiteaAuthUser) authentication).getUsername()) + ":" + (((GiteaAuthUser) authentication).
                     getPassword());
-            connection.setRequestProperty("Authorization", "Basic " + Base64.encodeBase64String(auth.getBytes(
-                    StandardCharsets.UTF_8)));
+            return "Basic " + Base64.encodeBase64String(auth.getBytes(StandardCharsets.UTF_8));
         } else if (authentication instanceof GiteaAuthToken) {
-            connection.setRequestProperty("Authorization", "token " + ((GiteaAuthToken) authentication).getToken());
+            return "token " + ((GiteaAuthToken) authentication).getToken();
         }
+        return null;
     }
 
     private int status(UriTemplate template) throws IOException, InterruptedException {
         HttpURLConnection connection = openConnection(template);
-        withAuthentication(connection);
         try {
+            withAuthentication(connection);
+            withCompression(connection);
             connection.connect();
-            return connection.getResponseCode();
+            int status = connection.getResponseCode();
+            consume(connection);
+            return status;
         } finally {
-            connection.disconnect();
+            release(connection);
         }
     }
 
     private int delete(UriTemplate template) throws IOException, InterruptedException {
         HttpURLConnection connection = openConnection(template);
-        withAuthentication(connection);
-        connection.setRequestMethod("DELETE");
         try {
+            withAuthentication(connection);
+            withCompression(connection);
+            connection.setRequestMethod("DELETE");
             connection.connect();
-            return connection.getResponseCode();
+            int status = connection.getResponseCode();
+            consume(connection);
+            return status;
         } finally {
-            connection.disconnect();
+            release(connection);
         }
     }
 
     private <T> T getObject(UriTemplate template, final Class<T> modelClass) throws IOException, InterruptedException {
-        HttpURLConnection connection = openConnection(template);
-        withAuthentication(connection);
+        return get(template.expand(), false, (is, headers) -> GiteaJson.reader(modelClass).readValue(is));
+    }
+
+    /**
+     * Performs a {@code GET} request, revalidating against the {@link ResponseCache} when a previous response for the
+     * same URL and credentials carried an {@code ETag} or {@code Last-Modified} validator. A {@code 304 Not Modified}
+     * response is answered from the cached body.
+     *
+     * @param url        the URL.
+     * @param anySuccess {@code true} to accept any {@code 2xx} status, {@code false} to accept only {@code 200}.
+     * @param reader     the reader of the response body.
+     * @param <T>        the type of response.
+     * @return the response.
+     * @throws IOException          if the request failed or returned an unexpected status.
+     * @throws InterruptedException if interrupted.
+     */
+    private <T> T get(String url, boolean anySuccess, ResponseReader<T> reader)
+            throws IOException, InterruptedException {
+        GetRequest request = prepareGet(url);
         try {
-            connection.connect();
-            int status = connection.getResponseCode();
-            if (status == 200) {
-                try (InputStream is = connection.getInputStream()) {
-                    return mapper.readerFor(modelClass).readValue(is);
+            request.connection.connect();
+            return readGet(request, anySuccess, reader);
+        } finally {
+            release(request.connection);
+        }
+    }
+
+    /**
+     * Opens the connection for a {@code GET} request, adding the validators of any cached response.
+     *
+     * @param url the URL.
+     * @return the request, ready to be sent.
+     * @throws IOException if the connection could not be opened.
+     */
+    GetRequest prepareGet(String url) throws IOException {
+        ResponseCache cache = ResponseCache.INSTANCE;
+        String key = cache.isEnabled() ? ResponseCache.key(url, authorization()) : null;
+        ResponseCache.Entry cached = key == null ? null : cache.get(key);
+        HttpURLConnection connection = openConnection(url);
+        try {
+            withAuthentication(connection);
+            withCompression(connection);
+            if (cached != null) {
+                if (cached.getETag() != null) {
+                    connection.setRequestProperty("If-None-Match", cached.getETag());
+                }
+                if (cached.getLastModified() != null) {
+                    connection.setRequestProperty("If-Modified-Since", cached.getLastModified());
                 }
             }
+        } catch (RuntimeException e) {
+            release(connection);
+            throw e;
+        }
+        return new GetRequest(connection, key, cached);
+    }
+
+    /**
+     * Reads the response to a {@code GET} request prepared by {@link #prepareGet(String)}, updating the
+     * {@link ResponseCache}. The caller remains responsible for releasing the connection.
+     *
+     * @param request    the request.
+     * @param anySuccess {@code true} to accept any {@code 2xx} status, {@code false} to accept only {@code 200}.
+     * @param reader     the reader of the response body.
+     * @param <T>        the type of response.
+     * @return the response.
+     * @throws IOException if the request failed or returned an unexpected status.
+     */
+    <T> T readGet(GetRequest request, boolean anySuccess, ResponseReader<T> reader) throws IOException {
+        ResponseCache cache = ResponseCache.INSTANCE;
+        HttpURLConnection connection = request.connection;
+        String key = request.key;
+        ResponseCache.Entry cached = request.cached;
+        int status = connection.getResponseCode();
+        if (status == HttpURLConnection.HTTP_NOT_MODIFIED && cached != null) {
+            consume(connection);
+            return reader.read(new ByteArrayInputStream(cached.getBody()), cached::getHeader);
+        }
+        if (anySuccess ? status / 100 != 2 : status != 200) {
+            consume(connection);
             throw new GiteaHttpStatusException(status, connection.getResponseMessage());
-        } finally {
-            connection.disconnect();
+        }
+        String eTag = connection.getHeaderField("ETag");
+        String lastModified = connection.getHeaderField("Last-Modified");
+        try (InputStream is = inputStream(connection)) {
+            // the declared length is of the encoded body, so if that is too large the decoded body is too
+            long maxBytes = cache.maxBytes();
+            if (key == null || (eTag == null && lastModified == null)
+                    || connection.getContentLengthLong() > maxBytes) {
+                if (cached != null) {
+                    cache.remove(key);
+                }
+                return reader.read(is, connection::getHeaderField);
+            }
+            // buffer no more than the cache would keep, streaming the rest of a response that turns out too large
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            if (IOUtils.copyLarge(is, buffer, 0L, maxBytes < Long.MAX_VALUE ? maxBytes + 1 : maxBytes) > maxBytes) {
+                if (cached != null) {
+                    cache.remove(key);
+                }
+                return reader.read(new SequenceInputStream(new ByteArrayInputStream(buffer.toByteArray()), is),
+                        connection::getHeaderField);
+            }
+            Map<String, String> headers = new HashMap<>();
+            for (String name : CACHED_HEADERS) {
+                String value = connection.getHeaderField(name);
+                if (value != null) {
+                    headers.put(name.toLowerCase(Locale.ENGLISH), value);
+                }
+            }
+            ResponseCache.Entry entry = new ResponseCache.Entry(eTag, lastModified, buffer.toByteArray(), headers);
+            cache.put(key, entry);
+            return reader.read(new ByteArrayInputStream(entry.getBody()), entry::getHeader);
+        }
+    }
+
+    /**
+     * A {@code GET} request together with the cached response it revalidates.
+     */
+    static final class GetRequest {
+        final HttpURLConnection connection;
+        @CheckForNull
+        final String key;
+        @CheckForNull
+        final ResponseCache.Entry cached;
+
+        GetRequest(HttpURLConnection connection, @CheckForNull String key, @CheckForNull ResponseCache.Entry cached) {
+            this.connection = connection;
+            this.key = key;
+            this.cached = cached;
         }
     }
 
+    /**
+     * Reads a response body.
+     *
+     * @param <T> the type of response.
+     */
+    @FunctionalInterface
+    interface ResponseReader<T> {
+        /**
+         * Reads the response.
+         *
+         * @param is      the response body.
+         * @param headers the response headers by name.
+         * @return the response.
+         * @throws IOException if the body could not be read.
+         */
+        T read(InputStream is, UnaryOperator<String> headers) throws IOException;
+    }
+
     private <T> T post(UriTemplate template, Object body, final Class<T> modelClass)
             throws IOException, InterruptedException {
         HttpURLConnection connection = openConnection(template);
+        try {
+            byte[] bytes = writePost(connection, body, modelClass);
+            return readPost(connection, bytes, modelClass);
+        } finally {
+            release(connection);
+        }
+    }
+
+    /**
+     * Writes a {@code POST} request with a JSON body.
+     *
+     * @param connection the connection.
+     * @param body       the body or {@code null} for none.
+     * @param modelClass the type of response, {@link Void} for none.
+     * @return the body as sent.
+     * @throws IOException if the request could not be written.
+     */
+    @CheckForNull
+    byte[] writePost(HttpURLConnection connection, Object body, final Class<?> modelClass) throws IOException {
+        byte[] bytes = null;
         withAuthentication(connection);
+        withCompression(connection);
         connection.setRequestMethod("POST");
-        byte[] bytes;
         if (body != null) {
-            bytes = mapper.writer(new StdDateFormat()).writeValueAsBytes(body);
+            bytes = GiteaJson.writer().writeValueAsBytes(body);
             connection.setRequestProperty("Content-Type", "application/json");
             connection.setRequestProperty("Content-Length", Integer.toString(bytes.length));
             connection.setDoOutput(true);
         } else {
-            bytes = null;
             connection.setDoOutput(false);
         }
         connection.setDoInput(!Void.class.equals(modelClass));
 
-        try {
-            connection.connect();
-            if (bytes != null) {
-                try (OutputStream os = connection.getOutputStream()) {
-                    os.write(bytes);
-                }
+        connection.connect();
+        if (bytes != null) {
+            try (OutputStream os = connection.getOutputStream()) {
+                os.write(bytes);
             }
-            int status = connection.getResponseCode();
-            if (status / 100 == 2) {
-                if (Void.class.equals(modelClass)) {
-                    return null;
-                }
-                try (InputStream is = connection.getInputStream()) {
-                    return mapper.readerFor(modelClass).readValue(is);
-                }
+        }
+        return bytes;
+    }
+
+    /**
+     * Reads the response to a request written by {@link #writePost(HttpURLConnection, Object, Class)}. The caller
+     * remains responsible for releasing the connection.
+     *
+     * @param connection the connection.
+     * @param bytes      the body as sent, for the error message.
+     * @param modelClass the type of response, {@link Void} for none.
+     * @param <T>        the type of response.
+     * @return the response.
+     * @throws IOException if the request failed.
+     */
+    <T> T readPost(HttpURLConnection connection, @CheckForNull byte[] bytes, final Class<T> modelClass)
+            throws IOException {
+        int status = connection.getResponseCode();
+        if (status / 100 == 2) {
+            if (Void.class.equals(modelClass)) {
+                consume(connection);
+                return null;
+            }
+            try (InputStream is = inputStream(connection)) {
+                return GiteaJson.reader(modelClass).readValue(is);
             }
-            throw new GiteaHttpStatusException(
-                    status,
-                    connection.getResponseMessage(),
-                    bytes != null ? new String(bytes, StandardCharsets.UTF_8) : null
-            );
-        } finally {
-            connection.disconnect();
         }
+        consume(connection);
+        throw new GiteaHttpStatusException(
+                status,
+                connection.getResponseMessage(),
+                bytes != null ? new String(bytes, StandardCharsets.UTF_8) : null
+        );
     }
 
     private <T> T postFile(UriTemplate template, String fileName, InputStream file, final Class<T> modelClass)
             throws IOException, InterruptedException {
         HttpURLConnection connection = openConnection(template);
-        withAuthentication(connection);
-        connection.setRequestMethod("POST");
-
-        String boundary = "===" + System.currentTimeMillis() + "===";
-        connection.setRequestProperty("Content-Type", "multipart/form-data; boundary=\"" + boundary + "\"");
-        //connection.setRequestProperty("Content-Length", Integer.toString(bytes.length));
-        connection.setDoOutput(true);
-        connection.setDoInput(!Void.class.equals(modelClass));
+        try {
+            withAuthentication(connection);
+            withCompression(connection);
+            connection.setRequestMethod("POST");
 
-        final String LINE_FEED = "\r\n";
-        // Default charset is utf8 for forms: https://www.rfc-editor.org/rfc/rfc7578#section-5.1.2
-        PrintWriter writer = new PrintWriter(new OutputStreamWriter(connection.getOutputStream(), "UTF-8"), true);
-        {
-            writer.append("--" + boundary).append(LINE_FEED);
-            writer.append("Content-Disposition: form-data; name=\"attachment\"; filename=\"" + fileName + "\"").append(LINE_FEED);
-            writer.append("Content-Type: " + URLConnection.guessContentTypeFromName(fileName)).append(LINE_FEED);
-            writer.append("Content-Transfer-Encoding: binary").append(LINE_FEED);
-            writer.append(LINE_FEED);
-            writer.flush();
+            String boundary = "===" + System.currentTimeMillis() + "===";
+            connection.setRequestProperty("Content-Type", "multipart/form-data; boundary=\"" + boundary + "\"");
+            //connection.setRequestProperty("Content-Length", Integer.toString(bytes.length));
+            connection.setDoOutput(true);
+            connection.setDoInput(!Void.class.equals(modelClass));
+
+            final String LINE_FEED = "\r\n";
+            // Default charset is utf8 for forms: https://www.rfc-editor.org/rfc/rfc7578#section-5.1.2
+            PrintWriter writer = new PrintWriter(new OutputStreamWriter(connection.getOutputStream(), "UTF-8"), true);
+            {
+                writer.append("--" + boundary).append(LINE_FEED);
+                writer.append("Content-Disposition: form-data; name=\"attachment\"; filename=\"" + fileName + "\"").append(LINE_FEED);
+                writer.append("Content-Type: " + URLConnection.guessContentTypeFromName(fileName)).append(LINE_FEED);
+                writer.append("Content-Transfer-Encoding: binary").append(LINE_FEED);
+                writer.append(LINE_FEED);
+                writer.flush();
+
+                byte[] buffer = new byte[4096];
+                int bytesRead = -1;
+                while ((bytesRead = file.read(buffer)) != -1) {
+                    connection.getOutputStream().write(buffer, 0, bytesRead);
+                }
+                connection.getOutputStream().flush();
+                file.close();
 
-            byte[] buffer = new byte[4096];
-            int bytesRead = -1;
-            while ((bytesRead = file.read(buffer)) != -1) {
-                connection.getOutputStream().write(buffer, 0, bytesRead);
+                writer.flush();
             }
-            connection.getOutputStream().flush();
-            file.close();
 
-            writer.flush();
-        }
-
-        // fin.
-        writer.append(LINE_FEED);
-        writer.append("--" + boundary + "--").append(LINE_FEED);
-        writer.close();
+            // fin.
+            writer.append(LINE_FEED);
+            writer.append("--" + boundary + "--").append(LINE_FEED);
+            writer.close();
 
-        try {
             connection.connect();
             int status = connection.getResponseCode();
             if (status / 100 == 2) {
                 if (Void.class.equals(modelClass)) {
+                    consume(connection);
                     return null;
                 }
-                try (InputStream is = connection.getInputStream()) {
-                    return mapper.readerFor(modelClass).readValue(is);
+                try (InputStream is = inputStream(connection)) {
+                    return GiteaJson.reader(modelClass).readValue(is);
                 }
             }
+            consume(connection);
             throw new GiteaHttpStatusException(
                 status,
                 connection.getResponseMessage(),
                 "<multipart/form-data with file>"
             );
         } finally {
-            connection.disconnect();
+            release(connection);
         }
     }
 
     private <T> T patch(UriTemplate template, Object body, final Class<T> modelClass)
             throws IOException, InterruptedException {
         HttpURLConnection connection = openConnection(template);
-        withAuthentication(connection);
-        setRequestMethodViaJreBugWorkaround(connection, "PATCH");
-        byte[] bytes;
-        if (body != null) {
-            bytes = mapper.writer(new StdDateFormat()).writeValueAsBytes(body);
-            connection.setRequestProperty("Content-Type", "application/json");
-            connection.setRequestProperty("Content-Length", Integer.toString(bytes.length));
-            connection.setDoOutput(true);
-        } else {
-            bytes = null;
-            connection.setDoOutput(false);
-        }
-        connection.setDoInput(true);
-
+        byte[] bytes = null;
         try {
+            withAuthentication(connection);
+            withCompression(connection);
+            setRequestMethodViaJreBugWorkaround(connection, "PATCH");
+            if (body != null) {
+                bytes = GiteaJson.writer().writeValueAsBytes(body);
+                connection.setRequestProperty("Content-Type", "application/json");
+                connection.setRequestProperty("Content-Length", Integer.toString(bytes.length));
+                connection.setDoOutput(true);
+            } else {
+                connection.setDoOutput(false);
+            }
+            connection.setDoInput(true);
+
             connection.connect();
             if (bytes != null) {
                 try (OutputStream os = connection.getOutputStream()) {
@@ -1106,62 +1472,280 @@ class DefaultGiteaConnection implements GiteaConnection {
             int status = connection.getResponseCode();
             if (status / 100 == 2) {
                 if (Void.class.equals(modelClass)) {
+                    consume(connection);
                     return null;
                 }
-                try (InputStream is = connection.getInputStream()) {
-                    return mapper.readerFor(modelClass).readValue(is);
+                try (InputStream is = inputStream(connection)) {
+                    return GiteaJson.reader(modelClass).readValue(is);
                 }
             }
+            consume(connection);
             throw new GiteaHttpStatusException(
                     status,
                     connection.getResponseMessage(),
                     bytes != null ? new String(bytes, StandardCharsets.UTF_8) : null
             );
         } finally {
-            connection.disconnect();
+            release(connection);
         }
     }
 
     private Pattern nextPagePattern = Pattern.compile("<(.*)>;\\s*rel=\"next\"");
 
+    /**
+     * The response headers that are retained alongside a cached response body.
+     */
+    private static final List<String> CACHED_HEADERS = Collections.unmodifiableList(
+            Arrays.asList("Link", "X-Total-Count"));
+
+    private static final Pattern pageParameterPattern = Pattern.compile("([?&])page=(\\d+)");
+
+    /**
+     * The maximum number of pages of a single list that will be fetched concurrently from any one server, {@code 1}
+     * disables concurrent fetching of pages.
+     */
+    static final int MAX_CONCURRENT_PAGES = Math.max(1, SystemProperties.getInteger(
+            DefaultGiteaConnection.class.getName() + ".maxConcurrentPages", 4));
+
+    /**
+     * The permits for concurrent page fetches, keyed by server URL.
+     */
+    private static final ConcurrentMap<String, Semaphore> PAGE_PERMITS = new ConcurrentHashMap<>();
+
+    /**
+     * Lazy holder of the pool that fetches pages concurrently. The pool hands work back to the calling thread when
+     * all its threads are busy, so a page fetch can never be queued behind work that is waiting on it.
+     */
+    private static final class PrefetchPool {
+        static final ExecutorService EXECUTOR = new ThreadPoolExecutor(0, 32, 60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                new NamingThreadFactory(new DaemonThreadFactory(), "Gitea page prefetch"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
     private <T> List<T> getList(UriTemplate template, final Class<T> modelClass)
             throws IOException, InterruptedException {
-        return getList(template.expand(), modelClass);
+        return getList(template, modelClass, GiteaJson.reader(modelClass));
     }
 
-    private <T> List<T> getList(String url, final Class<T> modelClass) throws IOException, InterruptedException {
-        HttpURLConnection connection = openConnection(url);
-        withAuthentication(connection);
+    private <T> List<T> getList(UriTemplate template, final Class<T> modelClass, final ObjectReader reader)
+            throws IOException, InterruptedException {
+        return getList(paged(template.expand()), modelClass, reader);
+    }
+
+    private <T> List<T> getList(String url, final Class<T> modelClass, final ObjectReader reader)
+            throws IOException, InterruptedException {
+        List<T> result = new ArrayList<>();
+        Page<T> page = getPage(url, modelClass, reader);
+        result.addAll(page.getItems());
+        if (MAX_CONCURRENT_PAGES > 1 && page.getNext() != null && page.getTotalCount() > 0 && page.getCount() > 0) {
+            page = prefetch(page, modelClass, reader, result);
+        }
+        // walk any remaining pages one at a time so that each connection is released before the next is requested
+        while (page.getNext() != null) {
+            page = getPage(page.getNext(), modelClass, reader);
+            result.addAll(page.getItems());
+        }
+        return result;
+    }
+
+    /**
+     * Uses the total count reported with the first page to work out the URLs of all the remaining pages and fetches
+     * them concurrently, limited to {@link #MAX_CONCURRENT_PAGES} requests in flight against any one server.
+     *
+     * @param first      the first page.
+     * @param modelClass the type of item.
+     * @param reader     the reader of the items.
+     * @param result     the list to append the items of the remaining pages to, in page order.
+     * @param <T>        the type of item.
+     * @return the last page fetched, callers should continue from its {@link Page#getNext()} if the list has grown
+     * since the first page was fetched.
+     * @throws IOException          if a page could not be fetched.
+     * @throws InterruptedException if interrupted.
+     */
+    private <T> Page<T> prefetch(Page<T> first, final Class<T> modelClass, final ObjectReader reader, List<T> result)
+            throws IOException, InterruptedException {
+        String next = first.getNext();
+        Matcher matcher = pageParameterPattern.matcher(next);
+        if (!matcher.find()) {
+            return first;
+        }
+        int nextNumber = Integer.parseInt(matcher.group(2));
+        long pages = (first.getTotalCount() + first.getCount() - 1) / first.getCount();
+        long lastNumber = Math.min(Integer.MAX_VALUE, nextNumber + pages - 2);
+        Semaphore permits = PAGE_PERMITS.computeIfAbsent(serverUrl, k -> new Semaphore(MAX_CONCURRENT_PAGES));
+        List<CompletableFuture<Page<T>>> futures = new ArrayList<>();
         try {
-            connection.connect();
-            int status = connection.getResponseCode();
+            for (long number = nextNumber; number <= lastNumber; number++) {
+                final String pageUrl = next.substring(0, matcher.start(2)) + number + next.substring(matcher.end(2));
+                final CompletableFuture<Page<T>> future = new CompletableFuture<>();
+                futures.add(future);
+                permits.acquire();
+                try {
+                    PrefetchPool.EXECUTOR.execute(() -> {
+                        try {
+                            future.complete(getPage(pageUrl, modelClass, reader));
+                        } catch (Throwable t) {
+                            future.completeExceptionally(t);
+                        } finally {
+                            permits.release();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    permits.release();
+                    throw new IOException(e);
+                }
+            }
+            Page<T> page = first;
+            for (CompletableFuture<Page<T>> future : futures) {
+                page = AsyncGiteaConnection.await(future);
+                result.addAll(page.getItems());
+            }
+            return page;
+        } finally {
+            for (CompletableFuture<Page<T>> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
 
-            if (status / 100 == 2) {
-                Optional<String> next = Optional.ofNullable(connection.getHeaderField("Link"))
-                        .map(nextPagePattern::matcher)
-                        .filter(Matcher::find)
-                        .map(matcher -> matcher.group(1));
-
-                try (InputStream is = connection.getInputStream()) {
-                    List<T> list = mapper
-                            .readerFor(mapper.getTypeFactory().constructCollectionType(List.class, modelClass))
-                            .readValue(is);
-                    if (next.isPresent()) {
-                        list.addAll(getList(next.get(), modelClass));
-                    }
+    private <T> PagedIterable<T> iterate(UriTemplate template, final Class<T> modelClass)
+            throws IOException, InterruptedException {
+        final ObjectReader reader = GiteaJson.reader(modelClass);
+        return new PagedIterable<>(getPage(paged(template.expand()), modelClass, reader),
+                url -> getPage(url, modelClass, reader));
+    }
+
+    /**
+     * Fetches a single page of a list, decoding the items one at a time as they are read from the response.
+     *
+     * @param url        the URL of the page.
+     * @param modelClass the type of item.
+     * @param reader     the reader of a single item.
+     * @param <T>        the type of item.
+     * @return the page.
+     * @throws IOException          if the page could not be fetched.
+     * @throws InterruptedException if interrupted.
+     */
+    <T> Page<T> getPage(String url, final Class<T> modelClass, final ObjectReader reader)
+            throws IOException, InterruptedException {
+        return get(url, true, pageReader(reader));
+    }
+
+    /**
+     * Returns the reader of a single page of a list.
+     *
+     * @param reader the reader of a single item.
+     * @param <T>    the type of item.
+     * @return the reader of the page.
+     */
+    <T> ResponseReader<Page<T>> pageReader(final ObjectReader reader) {
+        return (is, headers) -> {
+            String next = Optional.ofNullable(headers.apply("Link"))
+                    .map(nextPagePattern::matcher)
+                    .filter(Matcher::find)
+                    .map(matcher -> matcher.group(1))
+                    .orElse(null);
+            long totalCount;
+            try {
+                totalCount = Long.parseLong(StringUtils.defaultString(headers.apply("X-Total-Count"), "-1"));
+            } catch (NumberFormatException e) {
+                totalCount = -1L;
+            }
+            List<T> list = new ArrayList<>();
+            int count = 0;
+            try (MappingIterator<T> items = reader.readValues(is)) {
+                while (items.hasNextValue()) {
+                    T item = items.nextValue();
+                    count++;
                     // strip null values from the list
-                    for (Iterator<T> iterator = list.iterator(); iterator.hasNext();) {
-                        if (iterator.next() == null) {
-                            iterator.remove();
-                        }
+                    if (item != null) {
+                        list.add(item);
                     }
-                    return list;
                 }
             }
-            throw new GiteaHttpStatusException(status, connection.getResponseMessage());
-        } finally {
-            connection.disconnect();
+            return new Page<>(list, next, count, totalCount);
+        };
+    }
+
+    /**
+     * Adds the {@code limit} parameter to the URL of the first page of a paginated end-point. Gitea carries the
+     * parameter over into the {@code Link} headers of the subsequent pages.
+     *
+     * @param url the URL of the first page.
+     * @return the URL with the page size applied.
+     */
+    private String paged(String url) throws IOException, InterruptedException {
+        return paged(url, limit());
+    }
+
+    /**
+     * Adds the {@code limit} parameter to a URL.
+     *
+     * @param url   the URL of the first page.
+     * @param limit the page size or {@code null} to use the server default.
+     * @return the URL with the page size applied.
+     */
+    static String paged(String url, @CheckForNull Integer limit) {
+        if (limit == null) {
+            return url;
+        }
+        return url + (url.indexOf('?') == -1 ? "?" : "&") + "limit=" + limit;
+    }
+
+    /**
+     * Returns the page size to request, capped at the maximum that the server will return.
+     *
+     * @return the page size to request or {@code null} to use the server default.
+     */
+    @CheckForNull
+    private Integer limit() throws InterruptedException {
+        if (!needsApiSettings()) {
+            return limit(null, null);
+        }
+        try {
+            return limit(fetchApiSettings(), null);
+        } catch (IOException e) {
+            return limit(null, e);
+        }
+    }
+
+    /**
+     * Checks whether the page size to request depends on settings that have not been fetched from the server yet.
+     *
+     * @return {@code true} if {@link #limit(GiteaApiSettings, Throwable)} needs the outcome of fetching the settings.
+     */
+    boolean needsApiSettings() {
+        return pageSize != null && !MAX_RESPONSE_ITEMS.containsKey(serverUrl);
+    }
+
+    /**
+     * Returns the page size to request, capped at the maximum that the server will return.
+     *
+     * @param settings the settings fetched from the server, if they were needed and fetched.
+     * @param failure  the failure to fetch the settings, if they were needed and could not be fetched.
+     * @return the page size to request or {@code null} to use the server default.
+     */
+    @CheckForNull
+    Integer limit(@CheckForNull GiteaApiSettings settings, @CheckForNull Throwable failure) {
+        if (pageSize == null) {
+            return null;
+        }
+        Long max = MAX_RESPONSE_ITEMS.get(serverUrl);
+        if (max == null) {
+            if (failure instanceof GiteaHttpStatusException
+                    && ((GiteaHttpStatusException) failure).getStatusCode() == HttpURLConnection.HTTP_NOT_FOUND) {
+                // older servers do not publish their settings, let the server apply its own cap
+                max = 0L;
+            } else if (failure != null) {
+                // may be transient, ask again next time and let the server apply its own cap meanwhile
+                return pageSize;
+            } else {
+                max = settings == null ? 0L : settings.getMaxResponseItems();
+            }
+            MAX_RESPONSE_ITEMS.put(serverUrl, max);
         }
+        return max > 0 && pageSize > max ? Integer.valueOf(max.intValue()) : pageSize;
     }
 
     private HttpURLConnection openConnection(UriTemplate template) throws IOException {
@@ -1178,4 +1762,35 @@ class DefaultGiteaConnection implements GiteaConnection {
         return (HttpURLConnection) url.openConnection(jenkins.proxy.createProxy(url.getHost()));
     }
 
+    /**
+     * Reads and closes whatever remains of the response body so that the underlying socket can be handed back to
+     * the JVM's keep-alive cache rather than being torn down.
+     *
+     * @param connection the connection.
+     */
+    private static void consume(HttpURLConnection connection) {
+        InputStream is = connection.getErrorStream();
+        try {
+            if (is == null) {
+                is = connection.getInputStream();
+            }
+            try (InputStream ignored = is) {
+                IOUtils.skip(ignored, Long.MAX_VALUE);
+            }
+        } catch (IOException e) {
+            // ignore, there is nothing left to reuse
+        }
+    }
+
+    /**
+     * Releases a connection once the request/response exchange is complete. The default implementation disconnects,
+     * subclasses may choose to keep the underlying socket alive.
+     *
+     * @param connection the connection.
+     */
+    @Restricted(NoExternalUse.class)
+    protected void release(HttpURLConnection connection) {
+        connection.disconnect();
+    }
+
 }
@@ -47,6 +47,6 @@ public class DefaultGiteaConnectionFactory extends GiteaConnectionFactory {
     @NonNull
     @Override
     public GiteaConnection open(@NonNull Gitea gitea) throws IOException {
-        return new DefaultGiteaConnection(gitea.serverUrl(), gitea.as());
+        return new DefaultGiteaConnection(gitea.serverUrl(), gitea.as(), gitea.pageSize());
     }
 }
@@ -0,0 +1,305 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2017, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugin.gitea.client.impl;
+
+import com.damnhandy.uri.template.UriTemplate;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.jenkinsci.plugin.gitea.client.api.AsyncGiteaConnection;
+import org.jenkinsci.plugin.gitea.client.api.GiteaApiSettings;
+import org.jenkinsci.plugin.gitea.client.api.GiteaBranch;
+import org.jenkinsci.plugin.gitea.client.api.GiteaCommitDetail;
+import org.jenkinsci.plugin.gitea.client.api.GiteaCommitStatus;
+import org.jenkinsci.plugin.gitea.client.api.GiteaHttpStatusException;
+import org.jenkinsci.plugin.gitea.client.api.GiteaIssueState;
+import org.jenkinsci.plugin.gitea.client.api.GiteaJson;
+import org.jenkinsci.plugin.gitea.client.api.GiteaPullRequest;
+import org.jenkinsci.plugin.gitea.client.api.GiteaRelease;
+import org.jenkinsci.plugin.gitea.client.api.GiteaRepository;
+import org.jenkinsci.plugin.gitea.client.api.GiteaTag;
+import org.jenkinsci.plugin.gitea.client.api.GiteaVersion;
+
+/**
+ * The {@link AsyncGiteaConnection} of a {@link HttpClientGiteaConnection}. Each request is sent with
+ * {@link java.net.http.HttpClient#sendAsync} and its response decoded on completion, so no thread waits on a request
+ * in flight. The pages of a list are requested one after the other as each previous page completes. The iterables
+ * fetch their first page asynchronously, any further pages are fetched by the thread that iterates them.
+ */
+class HttpClientAsyncGiteaConnection implements AsyncGiteaConnection {
+
+    private final HttpClientGiteaConnection connection;
+
+    HttpClientAsyncGiteaConnection(HttpClientGiteaConnection connection) {
+        this.connection = connection;
+    }
+
+    @Override
+    public CompletableFuture<GiteaVersion> fetchVersion() {
+        return getObject(connection.version(), GiteaVersion.class);
+    }
+
+    @Override
+    public CompletableFuture<List<GiteaBranch>> fetchBranches(String username, String name) {
+        return getList(connection.branches(username, name), GiteaJson.reader(GiteaBranch.class));
+    }
+
+    @Override
+    public CompletableFuture<List<GiteaBranch>> fetchBranches(GiteaRepository repository) {
+        return fetchBranches(repository.getOwner().getUsername(), repository.getName());
+    }
+
+    @Override
+    public CompletableFuture<Iterable<GiteaBranch>> iterateBranches(GiteaRepository repository) {
+        return iterate(connection.branches(repository.getOwner().getUsername(), repository.getName()),
+                GiteaBranch.class);
+    }
+
+    @Override
+    public CompletableFuture<GiteaBranch> fetchBranch(GiteaRepository repository, String name) {
+        return getObject(connection.branch(repository.getOwner().getUsername(), repository.getName(), name),
+                GiteaBranch.class);
+    }
+
+    @Override
+    public CompletableFuture<List<GiteaTag>> fetchTags(String username, String name) {
+        return getList(connection.tags(username, name), GiteaJson.reader(GiteaTag.class));
+    }
+
+    @Override
+    public CompletableFuture<List<GiteaTag>> fetchTags(GiteaRepository repository) {
+        return fetchTags(repository.getOwner().getUsername(), repository.getName());
+    }
+
+    @Override
+    public CompletableFuture<Iterable<GiteaTag>> iterateTags(GiteaRepository repository) {
+        return iterate(connection.tags(repository.getOwner().getUsername(), repository.getName()), GiteaTag.class);
+    }
+
+    @Override
+    public CompletableFuture<GiteaTag> fetchTag(GiteaRepository repository, String tag) {
+        return getObject(connection.tag(repository.getOwner().getUsername(), repository.getName(), tag),
+                GiteaTag.class);
+    }
+
+    @Override
+    public CompletableFuture<GiteaCommitDetail> fetchCommit(String username, String repository, String sha1) {
+        return getObject(connection.commit(username, repository, sha1), GiteaCommitDetail.class);
+    }
+
+    @Override
+    public CompletableFuture<GiteaCommitDetail> fetchCommit(GiteaRepository repository, String sha1) {
+        return fetchCommit(repository.getOwner().getUsername(), repository.getName(), sha1);
+    }
+
+    @Override
+    public CompletableFuture<GiteaCommitStatus> createCommitStatus(String username, String repository, String sha,
+                                                                   GiteaCommitStatus status) {
+        return post(connection.statuses(username, repository, sha), status, GiteaCommitStatus.class);
+    }
+
+    @Override
+    public CompletableFuture<GiteaCommitStatus> createCommitStatus(GiteaRepository repository, String sha,
+                                                                   GiteaCommitStatus status) {
+        return createCommitStatus(repository.getOwner().getUsername(), repository.getName(), sha, status);
+    }
+
+    @Override
+    public CompletableFuture<GiteaPullRequest> fetchPullRequest(GiteaRepository repository, long id) {
+        return getObject(connection.pullRequest(repository.getOwner().getUsername(), repository.getName(), id),
+                GiteaPullRequest.class);
+    }
+
+    @Override
+    public CompletableFuture<List<GiteaPullRequest>> fetchPullRequests(String username, String name) {
+        return fetchPullRequests(username, name, EnumSet.of(GiteaIssueState.OPEN));
+    }
+
+    @Override
+    public CompletableFuture<List<GiteaPullRequest>> fetchPullRequests(GiteaRepository repository) {
+        return fetchPullRequests(repository, EnumSet.of(GiteaIssueState.OPEN));
+    }
+
+    @Override
+    public CompletableFuture<List<GiteaPullRequest>> fetchPullRequests(String username, String name,
+                                                                       Set<GiteaIssueState> states) {
+        return emptyIfNotFound(getList(connection.pullRequests(username, name, states),
+                GiteaJson.reader(GiteaPullRequest.class)));
+    }
+
+    @Override
+    public CompletableFuture<List<GiteaPullRequest>> fetchPullRequests(GiteaRepository repository,
+                                                                       Set<GiteaIssueState> states) {
+        return fetchPullRequests(repository.getOwner().getUsername(), repository.getName(), states);
+    }
+
+    @Override
+    public CompletableFuture<List<GiteaPullRequest>> fetchPullRequestSummaries(GiteaRepository repository,
+                                                                               Set<GiteaIssueState> states) {
+        return emptyIfNotFound(getList(
+                connection.pullRequests(repository.getOwner().getUsername(), repository.getName(), states),
+                GiteaJson.projectionReader(GiteaPullRequest.class)));
+    }
+
+    @Override
+    public CompletableFuture<List<GiteaRelease>> fetchReleases(String username, String name, boolean draft,
+                                                               boolean prerelease) {
+        return emptyIfNotFound(getList(connection.releases(username, name, draft, prerelease),
+                GiteaJson.reader(GiteaRelease.class)));
+    }
+
+    @Override
+    public CompletableFuture<List<GiteaRelease>> fetchReleases(GiteaRepository repository, boolean draft,
+                                                               boolean prerelease) {
+        return fetchReleases(repository.getOwner().getUsername(), repository.getName(), draft, prerelease);
+    }
+
+    private <T> CompletableFuture<T> getObject(UriTemplate template, final Class<T> modelClass) {
+        return get(template.expand(), false, (is, headers) -> GiteaJson.reader(modelClass).readValue(is));
+    }
+
+    private <T> CompletableFuture<T> get(String url, boolean anySuccess,
+                                         DefaultGiteaConnection.ResponseReader<T> reader) {
+        DefaultGiteaConnection.GetRequest request;
+        try {
+            request = connection.prepareGet(url);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return send(request.connection, () -> connection.readGet(request, anySuccess, reader));
+    }
+
+    private <T> CompletableFuture<T> post(UriTemplate template, Object body, final Class<T> modelClass) {
+        HttpURLConnection c = null;
+        byte[] bytes;
+        try {
+            c = connection.openConnection(template.expand());
+            bytes = connection.writePost(c, body, modelClass);
+        } catch (IOException e) {
+            if (c != null) {
+                connection.release(c);
+            }
+            return CompletableFuture.failedFuture(e);
+        }
+        final HttpURLConnection sent = c;
+        return send(sent, () -> connection.readPost(sent, bytes, modelClass));
+    }
+
+    /**
+     * Sends a prepared request and reads the response once it has been received in full.
+     *
+     * @param c        the prepared connection.
+     * @param response reads the response from the connection.
+     * @param <T>      the type of response.
+     * @return the future response.
+     */
+    private <T> CompletableFuture<T> send(HttpURLConnection c, Response<T> response) {
+        return ((HttpClientGiteaConnection.HttpClientURLConnection) c).executeAsync()
+                .handle((v, failure) -> {
+                    try {
+                        if (failure != null) {
+                            throw failure instanceof CompletionException
+                                    ? (CompletionException) failure : new CompletionException(failure);
+                        }
+                        return response.read();
+                    } catch (IOException e) {
+                        throw new CompletionException(e);
+                    } finally {
+                        connection.release(c);
+                    }
+                });
+    }
+
+    /**
+     * Requests all the pages of a list, each page once the previous one has been received.
+     */
+    private <T> CompletableFuture<List<T>> getList(UriTemplate template, final ObjectReader reader) {
+        return paged(template).thenCompose(url -> collect(url, reader, new ArrayList<>()));
+    }
+
+    private <T> CompletableFuture<List<T>> collect(String url, final ObjectReader reader, final List<T> result) {
+        return this.<Page<T>>get(url, true, connection.pageReader(reader)).thenCompose(page -> {
+            result.addAll(page.getItems());
+            return page.getNext() == null
+                    ? CompletableFuture.completedFuture(result)
+                    : collect(page.getNext(), reader, result);
+        });
+    }
+
+    private <T> CompletableFuture<Iterable<T>> iterate(UriTemplate template, final Class<T> modelClass) {
+        final ObjectReader reader = GiteaJson.reader(modelClass);
+        return paged(template)
+                .thenCompose(url -> this.<Page<T>>get(url, true, connection.pageReader(reader)))
+                .thenApply(first -> new PagedIterable<>(first, url -> connection.getPage(url, modelClass, reader)));
+    }
+
+    /**
+     * Applies the page size to the URL of the first page of a list, asking the server for its settings without
+     * blocking if they are not known yet.
+     */
+    private CompletableFuture<String> paged(UriTemplate template) {
+        final String url = template.expand();
+        if (!connection.needsApiSettings()) {
+            return CompletableFuture.completedFuture(DefaultGiteaConnection.paged(url, connection.limit(null, null)));
+        }
+        return getObject(connection.apiSettings(), GiteaApiSettings.class).handle((settings, failure) ->
+                DefaultGiteaConnection.paged(url, connection.limit(settings, unwrap(failure))));
+    }
+
+    /**
+     * Gitea returns a 404 when pull requests or releases are disabled, which is the same as there being none.
+     */
+    private static <T> CompletableFuture<List<T>> emptyIfNotFound(CompletableFuture<List<T>> future) {
+        return future.exceptionally(failure -> {
+            Throwable cause = unwrap(failure);
+            if (cause instanceof GiteaHttpStatusException
+                    && ((GiteaHttpStatusException) cause).getStatusCode() == HttpURLConnection.HTTP_NOT_FOUND) {
+                return Collections.emptyList();
+            }
+            throw failure instanceof CompletionException
+                    ? (CompletionException) failure : new CompletionException(failure);
+        });
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    }
+
+    /**
+     * Reads the response of a connection that has already been answered.
+     *
+     * @param <T> the type of response.
+     */
+    @FunctionalInterface
+    private interface Response<T> {
+        T read() throws IOException;
+    }
+}
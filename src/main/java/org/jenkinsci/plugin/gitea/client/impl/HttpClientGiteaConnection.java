@@ -0,0 +1,474 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2017, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugin.gitea.client.impl;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.ProxyConfiguration;
+import hudson.Util;
+import hudson.util.Secret;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.ProtocolException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import jenkins.model.Jenkins;
+import org.apache.commons.lang.StringUtils;
+import org.jenkinsci.plugin.gitea.client.api.AsyncGiteaConnection;
+import org.jenkinsci.plugin.gitea.client.api.GiteaAuth;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * A {@link DefaultGiteaConnection} that sends its requests through a {@link HttpClient} shared by every connection
+ * to the same server. The client negotiates HTTP/2 where the server (or the proxy in front of it) supports it, so
+ * that concurrent API calls are multiplexed over a single connection, and falls back to HTTP/1.1 with keep-alive
+ * otherwise. The {@link #async()} view sends its requests with {@link HttpClient#sendAsync}, so requests in flight
+ * do not hold a thread each.
+ */
+class HttpClientGiteaConnection extends DefaultGiteaConnection {
+
+    /**
+     * The shared clients, keyed by server URL. A client is replaced when the proxy configuration it was built with
+     * changes.
+     */
+    private static final ConcurrentMap<String, SharedClient> CLIENTS = new ConcurrentHashMap<>();
+
+    private final HttpClient client;
+
+    HttpClientGiteaConnection(@NonNull String serverUrl, @NonNull GiteaAuth authentication, @CheckForNull Integer pageSize) {
+        super(serverUrl, authentication, pageSize);
+        final String proxy = proxyKey();
+        this.client = CLIENTS.compute(serverUrl, (k, shared) -> shared != null && shared.proxy.equals(proxy)
+                ? shared
+                : new SharedClient(proxy, ProxyConfiguration.newHttpClientBuilder()
+                        .version(HttpClient.Version.HTTP_2)
+                        .followRedirects(HttpClient.Redirect.NORMAL)
+                        .build())).client;
+    }
+
+    /**
+     * Describes the proxy configuration that {@link ProxyConfiguration#newHttpClientBuilder()} would apply.
+     *
+     * @return the proxy host, port, credentials and exclusions, the password only as a digest.
+     */
+    private static String proxyKey() {
+        Jenkins jenkins = Jenkins.getInstanceOrNull();
+        ProxyConfiguration proxy = jenkins == null ? null : jenkins.proxy;
+        if (proxy == null) {
+            return "";
+        }
+        return proxy.name + ":" + proxy.port
+                + "\n" + StringUtils.defaultString(proxy.getUserName())
+                + "\n" + Util.getDigestOf(Secret.toString(proxy.getSecretPassword()))
+                + "\n" + StringUtils.defaultString(proxy.getNoProxyHost());
+    }
+
+    /**
+     * A client shared by the connections to one server, with the proxy configuration it was built with.
+     */
+    private static final class SharedClient {
+        private final String proxy;
+        private final HttpClient client;
+
+        SharedClient(String proxy, HttpClient client) {
+            this.proxy = proxy;
+            this.client = client;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AsyncGiteaConnection async() {
+        return new HttpClientAsyncGiteaConnection(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Restricted(NoExternalUse.class)
+    protected HttpURLConnection openConnection(String spec) throws IOException {
+        return new HttpClientURLConnection(new URL(spec), client);
+    }
+
+    /**
+     * Adapts a {@link HttpClient} exchange to the {@link HttpURLConnection} contract that
+     * {@link DefaultGiteaConnection} is written against. The request body is buffered and the request is sent when
+     * the response is first asked for.
+     */
+    static class HttpClientURLConnection extends HttpURLConnection {
+
+        /**
+         * Headers that {@link HttpClient} manages itself and refuses to have set.
+         */
+        private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect",
+                "host", "upgrade");
+
+        /**
+         * The reason phrases of the status codes that Gitea and the proxies in front of it commonly return.
+         */
+        private static final Map<Integer, String> REASON_PHRASES = Map.ofEntries(
+                Map.entry(200, "OK"),
+                Map.entry(201, "Created"),
+                Map.entry(202, "Accepted"),
+                Map.entry(204, "No Content"),
+                Map.entry(301, "Moved Permanently"),
+                Map.entry(302, "Found"),
+                Map.entry(303, "See Other"),
+                Map.entry(304, "Not Modified"),
+                Map.entry(307, "Temporary Redirect"),
+                Map.entry(308, "Permanent Redirect"),
+                Map.entry(400, "Bad Request"),
+                Map.entry(401, "Unauthorized"),
+                Map.entry(403, "Forbidden"),
+                Map.entry(404, "Not Found"),
+                Map.entry(405, "Method Not Allowed"),
+                Map.entry(409, "Conflict"),
+                Map.entry(410, "Gone"),
+                Map.entry(412, "Precondition Failed"),
+                Map.entry(413, "Content Too Large"),
+                Map.entry(415, "Unsupported Media Type"),
+                Map.entry(422, "Unprocessable Content"),
+                Map.entry(429, "Too Many Requests"),
+                Map.entry(500, "Internal Server Error"),
+                Map.entry(501, "Not Implemented"),
+                Map.entry(502, "Bad Gateway"),
+                Map.entry(503, "Service Unavailable"),
+                Map.entry(504, "Gateway Timeout"));
+
+        /**
+         * Receives the whole body before the response completes, so that reading it never blocks.
+         */
+        private static final HttpResponse.BodyHandler<InputStream> BUFFERED = info ->
+                HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofByteArray(),
+                        bytes -> (InputStream) new ByteArrayInputStream(bytes));
+
+        private final HttpClient client;
+        private final Map<String, List<String>> requestHeaders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        private ByteArrayOutputStream body;
+        private HttpResponse<InputStream> response;
+
+        HttpClientURLConnection(URL url, HttpClient client) {
+            super(url);
+            this.client = client;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void setRequestMethod(String method) throws ProtocolException {
+            if (connected) {
+                throw new ProtocolException("Can't reset method: already connected");
+            }
+            // HttpClient has no restriction on the method, so PATCH and friends need no workaround
+            this.method = method;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void setRequestProperty(String key, String value) {
+            if (connected) {
+                throw new IllegalStateException("Already connected");
+            }
+            List<String> values = new ArrayList<>();
+            values.add(value);
+            requestHeaders.put(key, values);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void addRequestProperty(String key, String value) {
+            if (connected) {
+                throw new IllegalStateException("Already connected");
+            }
+            requestHeaders.computeIfAbsent(key, k -> new ArrayList<>()).add(value);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String getRequestProperty(String key) {
+            List<String> values = requestHeaders.get(key);
+            return values == null || values.isEmpty() ? null : values.get(0);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Map<String, List<String>> getRequestProperties() {
+            return Collections.unmodifiableMap(requestHeaders);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void connect() throws IOException {
+            connected = true;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public OutputStream getOutputStream() throws IOException {
+            if (!doOutput) {
+                throw new ProtocolException("cannot write to a URLConnection if doOutput=false - call setDoOutput(true)");
+            }
+            if (response != null) {
+                throw new ProtocolException("Cannot write output after reading input.");
+            }
+            connected = true;
+            if (body == null) {
+                body = new ByteArrayOutputStream();
+            }
+            return body;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int getResponseCode() throws IOException {
+            return execute().statusCode();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String getResponseMessage() throws IOException {
+            // HTTP/2 has no reason phrase and HttpClient does not expose the HTTP/1.1 one, so use the standard one
+            return reasonPhrase(execute().statusCode());
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public InputStream getInputStream() throws IOException {
+            HttpResponse<InputStream> response = execute();
+            if (response.statusCode() == 404 || response.statusCode() == 410) {
+                throw new FileNotFoundException(url.toString());
+            }
+            if (response.statusCode() >= 400) {
+                throw new IOException("Server returned HTTP response code: " + response.statusCode()
+                        + " for URL: " + url);
+            }
+            return response.body();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public InputStream getErrorStream() {
+            return response != null && response.statusCode() >= 400 ? response.body() : null;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String getHeaderField(String name) {
+            try {
+                return execute().headers().firstValue(name).orElse(null);
+            } catch (IOException e) {
+                return null;
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Map<String, List<String>> getHeaderFields() {
+            try {
+                return execute().headers().map();
+            } catch (IOException e) {
+                return Collections.emptyMap();
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void disconnect() {
+            // the underlying connection belongs to the shared client, we only need to let go of the response
+            if (response != null) {
+                try {
+                    response.body().close();
+                } catch (IOException e) {
+                    // ignore
+                }
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean usingProxy() {
+            return false;
+        }
+
+        /**
+         * Returns the standard reason phrase of a status code.
+         *
+         * @param status the status code.
+         * @return the reason phrase, or the name of the class of status codes if the code is not a common one.
+         */
+        static String reasonPhrase(int status) {
+            String phrase = REASON_PHRASES.get(status);
+            if (phrase != null) {
+                return phrase;
+            }
+            switch (status / 100) {
+                case 1:
+                    return "Informational";
+                case 2:
+                    return "Success";
+                case 3:
+                    return "Redirection";
+                case 4:
+                    return "Client Error";
+                default:
+                    return "Server Error";
+            }
+        }
+
+        /**
+         * Sends the request, if it has not been sent already.
+         *
+         * @return the response.
+         * @throws IOException if the request could not be sent.
+         */
+        private HttpResponse<InputStream> execute() throws IOException {
+            if (response != null) {
+                return response;
+            }
+            HttpRequest request = request();
+            try {
+                response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for " + url);
+            }
+            responseCode = response.statusCode();
+            return response;
+        }
+
+        /**
+         * Sends the request without blocking, if it has not been sent already. The returned future completes once
+         * the whole response has been received, after which the response methods of this connection answer
+         * without blocking.
+         *
+         * @return the future that completes when the response has been received.
+         */
+        CompletableFuture<Void> executeAsync() {
+            if (response != null) {
+                return CompletableFuture.completedFuture(null);
+            }
+            HttpRequest request;
+            try {
+                request = request();
+            } catch (IOException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+            CompletableFuture<HttpResponse<InputStream>> sent = client.sendAsync(request, BUFFERED);
+            CompletableFuture<Void> result = sent.thenAccept(r -> {
+                response = r;
+                responseCode = r.statusCode();
+            });
+            result.whenComplete((r, t) -> {
+                if (result.isCancelled()) {
+                    sent.cancel(true);
+                }
+            });
+            return result;
+        }
+
+        /**
+         * Builds the request from the method, headers and body set on this connection.
+         *
+         * @return the request.
+         * @throws IOException if the URL is not valid.
+         */
+        private HttpRequest request() throws IOException {
+            connected = true;
+            HttpRequest.Builder builder;
+            try {
+                builder = HttpRequest.newBuilder(url.toURI());
+            } catch (URISyntaxException e) {
+                throw new IOException(e);
+            }
+            if (getReadTimeout() > 0) {
+                builder.timeout(Duration.ofMillis(getReadTimeout()));
+            }
+            for (Map.Entry<String, List<String>> header : requestHeaders.entrySet()) {
+                if (RESTRICTED_HEADERS.contains(header.getKey().toLowerCase(Locale.ENGLISH))) {
+                    continue;
+                }
+                for (String value : header.getValue()) {
+                    builder.header(header.getKey(), value);
+                }
+            }
+            builder.method(method, body == null
+                    ? HttpRequest.BodyPublishers.noBody()
+                    : HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()));
+            return builder.build();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2017, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugin.gitea.client.impl;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import jenkins.util.SystemProperties;
+import org.jenkinsci.plugin.gitea.client.api.GiteaAuth;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * A {@link DefaultGiteaConnection} that keeps the underlying sockets alive between requests. Rather than
+ * disconnecting once a response has been read, the response body is drained and closed, which hands the socket back
+ * to the JVM's per-server keep-alive cache so that the next request to the same server skips the TCP and TLS
+ * handshakes. The number of requests in flight against any one route (scheme, host and port) is bounded by the
+ * {@code org.jenkinsci.plugin.gitea.client.impl.KeepAliveGiteaConnection.maxConnectionsPerRoute} system property,
+ * the number of idle sockets retained per route is governed by the standard {@code http.maxConnections} property.
+ */
+class KeepAliveGiteaConnection extends DefaultGiteaConnection {
+
+    /**
+     * The maximum number of concurrent requests against a single route.
+     */
+    static final int MAX_CONNECTIONS_PER_ROUTE = Math.max(1, SystemProperties.getInteger(
+            KeepAliveGiteaConnection.class.getName() + ".maxConnectionsPerRoute", 8));
+
+    /**
+     * The permits for each route, shared by all connections so that the limit applies across the whole instance.
+     */
+    private static final ConcurrentMap<String, Semaphore> ROUTES = new ConcurrentHashMap<>();
+
+    /**
+     * The permit held by each open connection, released against the route it was acquired for even if the connection
+     * has since followed a redirect to another route.
+     */
+    private final ConcurrentMap<HttpURLConnection, Semaphore> acquired = new ConcurrentHashMap<>();
+
+    KeepAliveGiteaConnection(@NonNull String serverUrl, @NonNull GiteaAuth authentication, @CheckForNull Integer pageSize) {
+        super(serverUrl, authentication, pageSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Restricted(NoExternalUse.class)
+    protected HttpURLConnection openConnection(String spec) throws IOException {
+        Semaphore permits = permits(new URL(spec));
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a connection to " + spec);
+        }
+        boolean success = false;
+        try {
+            HttpURLConnection connection = super.openConnection(spec);
+            acquired.put(connection, permits);
+            success = true;
+            return connection;
+        } finally {
+            if (!success) {
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Restricted(NoExternalUse.class)
+    protected void release(HttpURLConnection connection) {
+        // the response body has already been consumed, leaving the socket in the keep-alive cache
+        Semaphore permits = acquired.remove(connection);
+        if (permits != null) {
+            permits.release();
+        }
+    }
+
+    /**
+     * Returns the permits for the route of the supplied URL.
+     *
+     * @param url the URL.
+     * @return the permits for the route.
+     */
+    private static Semaphore permits(URL url) {
+        int port = url.getPort() == -1 ? url.getDefaultPort() : url.getPort();
+        return ROUTES.computeIfAbsent(url.getProtocol() + "://" + url.getHost() + ":" + port,
+                k -> new Semaphore(MAX_CONNECTIONS_PER_ROUTE, true));
+    }
+}
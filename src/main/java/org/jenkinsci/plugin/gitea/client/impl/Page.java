@@ -0,0 +1,83 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2017, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugin.gitea.client.impl;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.List;
+
+/**
+ * A single page of a paginated list response.
+ *
+ * @param <T> the type of item.
+ */
+class Page<T> {
+    /**
+     * The items on this page.
+     */
+    @NonNull
+    private final List<T> items;
+    /**
+     * The URL of the next page or {@code null} if this is the last page.
+     */
+    @CheckForNull
+    private final String next;
+    /**
+     * The number of items that the server sent on this page, including any {@code null} entries that were dropped.
+     */
+    private final int count;
+    /**
+     * The total number of items across all pages as reported by the server or {@code -1} if not reported.
+     */
+    private final long totalCount;
+
+    Page(@NonNull List<T> items, @CheckForNull String next) {
+        this(items, next, items.size(), -1L);
+    }
+
+    Page(@NonNull List<T> items, @CheckForNull String next, int count, long totalCount) {
+        this.items = items;
+        this.next = next;
+        this.count = count;
+        this.totalCount = totalCount;
+    }
+
+    @NonNull
+    public List<T> getItems() {
+        return items;
+    }
+
+    @CheckForNull
+    public String getNext() {
+        return next;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+}
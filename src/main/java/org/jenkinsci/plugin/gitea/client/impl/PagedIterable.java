@@ -0,0 +1,124 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2017, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugin.gitea.client.impl;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import org.jenkinsci.plugin.gitea.client.api.GiteaPagedIterable;
+
+/**
+ * A lazy view of a paginated list response. The first page is fetched up front, so that errors such as a missing
+ * repository are reported by the call that creates the iterable, every subsequent page is only requested once the
+ * iteration reaches it. Only the current page is held in memory and nothing more is fetched once the iterable has
+ * been {@link #close() closed}. Each call to {@link #iterator()} starts again from the first page.
+ * <p>
+ * Failures to fetch a page during iteration are reported as {@link UncheckedIOException}.
+ *
+ * @param <T> the type of item.
+ */
+class PagedIterable<T> implements GiteaPagedIterable<T> {
+
+    /**
+     * Fetches the page at a given URL.
+     *
+     * @param <T> the type of item.
+     */
+    @FunctionalInterface
+    interface Fetcher<T> {
+        Page<T> fetch(String url) throws IOException, InterruptedException;
+    }
+
+    @NonNull
+    private final Page<T> first;
+    @NonNull
+    private final Fetcher<T> fetcher;
+    private volatile boolean closed;
+
+    PagedIterable(@NonNull Page<T> first, @NonNull Fetcher<T> fetcher) {
+        this.first = first;
+        this.fetcher = fetcher;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @NonNull
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private Page<T> page = first;
+            private Iterator<T> items = first.getItems().iterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!closed && !items.hasNext() && page.getNext() != null) {
+                    try {
+                        page = fetcher.fetch(page.getNext());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new UncheckedIOException(new InterruptedIOException(e.getMessage()));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    items = page.getItems().iterator();
+                }
+                return !closed && items.hasNext();
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return items.next();
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getPageCount() {
+        if (first.getNext() == null) {
+            return 1L;
+        }
+        if (first.getTotalCount() < 0 || first.getCount() <= 0) {
+            return -1L;
+        }
+        return (first.getTotalCount() + first.getCount() - 1) / first.getCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        closed = true;
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2017, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugin.gitea.client.impl;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import jenkins.util.SystemProperties;
+import org.apache.commons.codec.digest.DigestUtils;
+
+/**
+ * A bounded, least recently used, cache of {@code GET} responses that carried an {@code ETag} or
+ * {@code Last-Modified} validator. Entries are keyed by URL and by a digest of the credentials used, so that a
+ * response is only ever replayed to a caller that presented the same credentials as the caller that fetched it. The
+ * bounds are controlled by the {@code org.jenkinsci.plugin.gitea.client.impl.ResponseCache.maxEntries} and
+ * {@code org.jenkinsci.plugin.gitea.client.impl.ResponseCache.maxBytes} system properties, setting either to
+ * {@code 0} disables the cache.
+ */
+final class ResponseCache {
+
+    /**
+     * The maximum number of responses to retain.
+     */
+    static final int MAX_ENTRIES = Math.max(0, SystemProperties.getInteger(
+            ResponseCache.class.getName() + ".maxEntries", 1024));
+
+    /**
+     * The maximum total size of the response bodies to retain.
+     */
+    static final long MAX_BYTES = Math.max(0L, SystemProperties.getLong(
+            ResponseCache.class.getName() + ".maxBytes", 16L * 1024 * 1024));
+
+    /**
+     * The shared instance.
+     */
+    static final ResponseCache INSTANCE = new ResponseCache(MAX_ENTRIES, MAX_BYTES);
+
+    private final int maxEntries;
+
+    private final long maxBytes;
+
+    /**
+     * The entries in access order, guarded by {@code this}.
+     */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * The total size of the bodies in {@link #entries}, guarded by {@code this}.
+     */
+    private long bytes;
+
+    ResponseCache(int maxEntries, long maxBytes) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Computes the cache key for a request.
+     *
+     * @param url           the URL.
+     * @param authorization the {@code Authorization} header sent with the request or {@code null} if anonymous.
+     * @return the cache key.
+     */
+    @NonNull
+    static String key(@NonNull String url, @CheckForNull String authorization) {
+        return (authorization == null ? "-" : DigestUtils.sha256Hex(authorization)) + ' ' + url;
+    }
+
+    boolean isEnabled() {
+        return maxEntries > 0 && maxBytes > 0;
+    }
+
+    /**
+     * Returns the size of the largest body that can be cached.
+     *
+     * @return the maximum size in bytes.
+     */
+    long maxBytes() {
+        return maxBytes;
+    }
+
+    @CheckForNull
+    synchronized Entry get(@NonNull String key) {
+        return entries.get(key);
+    }
+
+    synchronized void put(@NonNull String key, @NonNull Entry entry) {
+        if (entry.body.length > maxBytes) {
+            remove(key);
+            return;
+        }
+        Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            bytes -= previous.body.length;
+        }
+        bytes += entry.body.length;
+        for (Iterator<Entry> iterator = entries.values().iterator();
+             iterator.hasNext() && (entries.size() > maxEntries || bytes > maxBytes); ) {
+            bytes -= iterator.next().body.length;
+            iterator.remove();
+        }
+    }
+
+    synchronized void remove(@NonNull String key) {
+        Entry previous = entries.remove(key);
+        if (previous != null) {
+            bytes -= previous.body.length;
+        }
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized long bytes() {
+        return bytes;
+    }
+
+    synchronized void clear() {
+        entries.clear();
+        bytes = 0L;
+    }
+
+    /**
+     * A cached response.
+     */
+    static final class Entry {
+        @CheckForNull
+        private final String eTag;
+        @CheckForNull
+        private final String lastModified;
+        @NonNull
+        private final byte[] body;
+        /**
+         * The response headers that callers need when the body is replayed, keyed by lower case name.
+         */
+        @NonNull
+        private final Map<String, String> headers;
+
+        Entry(@CheckForNull String eTag, @CheckForNull String lastModified, @NonNull byte[] body,
+              @NonNull Map<String, String> headers) {
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+            this.body = body;
+            this.headers = Collections.unmodifiableMap(new LinkedHashMap<>(headers));
+        }
+
+        @CheckForNull
+        String getETag() {
+            return eTag;
+        }
+
+        @CheckForNull
+        String getLastModified() {
+            return lastModified;
+        }
+
+        @NonNull
+        byte[] getBody() {
+            return body;
+        }
+
+        @CheckForNull
+        String getHeader(@NonNull String name) {
+            return headers.get(name.toLowerCase(Locale.ENGLISH));
+        }
+    }
+}
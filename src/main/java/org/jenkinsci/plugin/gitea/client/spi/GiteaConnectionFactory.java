@@ -34,7 +34,9 @@ import org.jenkinsci.plugin.gitea.client.api.GiteaConnection;
  * All the {@link ServiceLoader} registered implementations will be filtered to only those that
  * {@link #canOpen(Gitea)}. In the event of multiple implementations, the one with the highest
  * {@link #priority(Gitea)} will be selected and then {@link #open(Gitea)} will be
- * called.
+ * called. The selected factory is remembered for the server URL, the type of authentication and the page size of
+ * the builder and is re-confirmed with {@link #canOpen(Gitea)} before each use, so {@link #priority(Gitea)} must not
+ * depend on any other detail of the builder, such as the credentials themselves.
  */
 public abstract class GiteaConnectionFactory {
     /**
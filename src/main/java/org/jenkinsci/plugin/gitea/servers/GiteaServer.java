@@ -55,6 +55,7 @@ import org.kohsuke.accmod.Restricted;
 import org.kohsuke.accmod.restrictions.DoNotUse;
 import org.kohsuke.accmod.restrictions.NoExternalUse;
 import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
 import org.kohsuke.stapler.QueryParameter;
 
 /**
@@ -104,6 +105,12 @@ public class GiteaServer extends AbstractDescribableImpl<GiteaServer> {
     @CheckForNull
     private final String aliasUrl;
 
+    /**
+     * The number of items to request per page from paginated API end-points or {@code null} to use the server default.
+     */
+    @CheckForNull
+    private Integer pageSize;
+
     /**
      * Constructor
      *
@@ -195,6 +202,27 @@ public class GiteaServer extends AbstractDescribableImpl<GiteaServer> {
         return aliasUrl;
     }
 
+    /**
+     * Returns the number of items to request per page from paginated API end-points or {@code null} to use the
+     * server default. The Gitea server will cap this at its own {@code MAX_RESPONSE_ITEMS} setting.
+     *
+     * @return the number of items to request per page or {@code null}.
+     */
+    @CheckForNull
+    public Integer getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Sets the number of items to request per page from paginated API end-points.
+     *
+     * @param pageSize the number of items to request per page or {@code null} to use the server default.
+     */
+    @DataBoundSetter
+    public void setPageSize(@CheckForNull Integer pageSize) {
+        this.pageSize = pageSize == null || pageSize <= 0 ? null : pageSize;
+    }
+
     /**
      * Looks up the {@link StandardCredentials} to use for auto-management of hooks.
      *
@@ -267,6 +295,25 @@ public class GiteaServer extends AbstractDescribableImpl<GiteaServer> {
             }
         }
 
+        /**
+         * Checks that the supplied page size is valid.
+         *
+         * @param value the page size to check.
+         * @return the validation results.
+         */
+        public static FormValidation doCheckPageSize(@QueryParameter String value) {
+            Jenkins.get().checkPermission(Jenkins.ADMINISTER);
+            if (StringUtils.isBlank(value)) return FormValidation.ok();
+            try {
+                if (Integer.parseInt(value.trim()) > 0) {
+                    return FormValidation.ok();
+                }
+            } catch (NumberFormatException e) {
+                // fall through
+            }
+            return FormValidation.error(Messages.GiteaServer_invalidPageSize());
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -0,0 +1,210 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2017, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugin.gitea.servers;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.commons.lang.StringUtils;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * An immutable snapshot of the parsed server and alias URLs of the configured {@link GiteaServer} instances that
+ * answers {@link GiteaServers#isEventFor(String, String)} without locking. The server URLs of sources and navigators
+ * are parsed once per snapshot and the event URL once per run of calls for the same event.
+ */
+@Restricted(NoExternalUse.class)
+public final class GiteaServerMatcher {
+    /**
+     * The snapshot without any configured servers.
+     */
+    static final GiteaServerMatcher EMPTY = new GiteaServerMatcher(Collections.emptyMap());
+
+    /**
+     * The maximum number of distinct server URLs whose parsing is remembered.
+     */
+    private static final int MAX_CACHED = 1024;
+
+    private static final Authority[] NONE = new Authority[0];
+
+    /**
+     * The parsed alias URL by {@link GiteaServer#getServerUrl()}.
+     */
+    private final Map<String, Authority> aliases;
+    /**
+     * The URLs to match an event against by server URL as given by the caller.
+     */
+    private final Map<String, Authority[]> candidates = new ConcurrentHashMap<>();
+    /**
+     * The last parsed event URL, as one event is matched against many sources and navigators in a row.
+     */
+    private volatile Authority lastEvent;
+
+    private GiteaServerMatcher(Map<String, Authority> aliases) {
+        this.aliases = aliases;
+    }
+
+    /**
+     * Creates a snapshot of the servers.
+     *
+     * @param servers the servers.
+     * @return the snapshot.
+     */
+    @NonNull
+    public static GiteaServerMatcher of(@NonNull List<GiteaServer> servers) {
+        Map<String, Authority> aliases = new HashMap<>();
+        for (GiteaServer server : servers) {
+            if (StringUtils.isNotBlank(server.getAliasUrl())) {
+                Authority alias = Authority.parse(server.getAliasUrl());
+                if (alias != null) {
+                    aliases.put(server.getServerUrl(), alias);
+                }
+            }
+        }
+        return aliases.isEmpty() ? EMPTY : new GiteaServerMatcher(Collections.unmodifiableMap(aliases));
+    }
+
+    /**
+     * Checks if the supplied event url is for the specified server url or for its alias.
+     *
+     * @param serverUrl the {@link GiteaServer#getServerUrl()}
+     * @param eventUrl  the event url.
+     * @return {@code true} if the event is a match.
+     * @see GiteaServers#isEventFor(String, String)
+     */
+    public boolean isEventFor(@CheckForNull String serverUrl, @CheckForNull String eventUrl) {
+        if (serverUrl == null) {
+            return false;
+        }
+        Authority[] servers = candidates.get(serverUrl);
+        if (servers == null) {
+            servers = candidatesFor(serverUrl);
+            if (candidates.size() < MAX_CACHED) {
+                candidates.put(serverUrl, servers);
+            }
+        }
+        if (servers.length == 0) {
+            return false;
+        }
+        Authority event = lastEvent;
+        if (event == null || !event.url.equals(eventUrl)) {
+            event = Authority.parse(eventUrl);
+            if (event == null) {
+                return false;
+            }
+            lastEvent = event;
+        }
+        for (Authority server : servers) {
+            if (server.matches(event)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Authority[] candidatesFor(String serverUrl) {
+        Authority server = Authority.parse(serverUrl);
+        if (server == null) {
+            return NONE;
+        }
+        Authority alias = aliases.isEmpty() ? null : aliases.get(GiteaServers.normalizeServerUrl(serverUrl));
+        return alias == null ? new Authority[]{server} : new Authority[]{server, alias};
+    }
+
+    /**
+     * The parts of a URL that an event is matched on.
+     */
+    private static final class Authority {
+        private final String url;
+        private final String scheme;
+        private final String host;
+        private final int port;
+        private final String path;
+
+        private Authority(String url, String scheme, String host, int port, String path) {
+            this.url = url;
+            this.scheme = scheme;
+            this.host = host;
+            this.port = port;
+            this.path = path;
+        }
+
+        @CheckForNull
+        static Authority parse(@CheckForNull String url) {
+            if (url == null) {
+                return null;
+            }
+            try {
+                URI uri = new URI(url);
+                return new Authority(url, uri.getScheme(), uri.getHost(), uri.getPort(), uri.getPath());
+            } catch (URISyntaxException e) {
+                return null;
+            }
+        }
+
+        private int port(int defaultPort) {
+            return port == -1 ? defaultPort : port;
+        }
+
+        /**
+         * Checks if an event URL is below this server URL, a plain and a secure URL on the default ports being
+         * considered the same server.
+         *
+         * @param event the event URL.
+         * @return {@code true} if the event URL is below this server URL.
+         */
+        boolean matches(Authority event) {
+            if (!StringUtils.equalsIgnoreCase(host, event.host)) {
+                return false;
+            }
+            if ("http".equals(scheme)) {
+                if ("http".equals(event.scheme)) {
+                    if (port(80) != event.port(80)) {
+                        return false;
+                    }
+                } else if (!"https".equals(event.scheme)) {
+                    return false;
+                }
+            } else if ("https".equals(scheme)) {
+                if ("https".equals(event.scheme)) {
+                    if (port(443) != event.port(443)) {
+                        return false;
+                    }
+                } else if (!"http".equals(event.scheme)) {
+                    // may be the same just over plain
+                    return false;
+                }
+            }
+            return StringUtils.defaultIfBlank(event.path, "/")
+                    .startsWith(StringUtils.defaultIfBlank(path, "") + "/");
+        }
+    }
+}
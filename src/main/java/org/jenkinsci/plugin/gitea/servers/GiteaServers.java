@@ -33,11 +33,13 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import jenkins.model.GlobalConfiguration;
 import jenkins.model.Jenkins;
@@ -57,6 +59,16 @@ public class GiteaServers extends GlobalConfiguration {
      */
     private List<GiteaServer> servers;
 
+    /**
+     * The immutable snapshot of {@link #servers} that readers use without locking, replaced whenever they change.
+     */
+    private transient volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * The snapshot of the configured servers that events are matched against, replaced whenever they change.
+     */
+    private static volatile GiteaServerMatcher matcher = GiteaServerMatcher.EMPTY;
+
     /**
      * Constructor.
      */
@@ -64,6 +76,26 @@ public class GiteaServers extends GlobalConfiguration {
         load();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void load() {
+        super.load();
+        publish(servers);
+    }
+
+    /**
+     * Replaces the snapshots of the servers.
+     *
+     * @param servers the servers.
+     */
+    private void publish(@CheckForNull List<GiteaServer> servers) {
+        Snapshot snapshot = new Snapshot(Util.fixNull(servers));
+        this.snapshot = snapshot;
+        matcher = GiteaServerMatcher.of(snapshot.servers);
+    }
+
     /**
      * Gets the {@link GiteaServers} singleton.
      *
@@ -123,67 +155,7 @@ public class GiteaServers extends GlobalConfiguration {
      * @since 1.0.5
      */
     public static boolean isEventFor(String serverUrl, String eventUrl) {
-        try {
-            for (boolean alias : new boolean[]{false, true}) {
-                URI serverUri;
-                if (alias) {
-                    GiteaServer server = GiteaServers.get().findServer(serverUrl);
-                    if (server != null && StringUtils.isNotBlank(server.getAliasUrl())) {
-                        serverUri = new URI(server.getAliasUrl());
-                    } else {
-                        continue;
-                    }
-                } else {
-                    serverUri = new URI(serverUrl);
-                }
-                URI eventUri = new URI(eventUrl);
-                if (!StringUtils.equalsIgnoreCase(serverUri.getHost(), eventUri.getHost())) {
-                    continue;
-                }
-                if ("http".equals(serverUri.getScheme())) {
-                    int serverPort = serverUri.getPort();
-                    if (serverPort == -1) {
-                        serverPort = 80;
-                    }
-                    if ("http".equals(eventUri.getScheme())) {
-                        int eventPort = eventUri.getPort();
-                        if (eventPort == -1) {
-                            eventPort = 80;
-                        }
-                        if (serverPort != eventPort) {
-                            continue;
-                        }
-                    } else if (!"https".equals(eventUri.getScheme())) {
-                        continue;
-                    }
-                } else if ("https".equals(serverUri.getScheme())) {
-                    int serverPort = serverUri.getPort();
-                    if (serverPort == -1) {
-                        serverPort = 443;
-                    }
-                    if ("https".equals(eventUri.getScheme())) {
-                        int eventPort = eventUri.getPort();
-                        if (eventPort == -1) {
-                            eventPort = 443;
-                        }
-                        if (serverPort != eventPort) {
-                            continue;
-                        }
-                    } else if (!"http".equals(eventUri.getScheme())) {
-                        // may be the same just over plain
-                        continue;
-                    }
-                }
-                String serverPath = StringUtils.defaultIfBlank(serverUri.getPath(), "");
-                String eventPath = StringUtils.defaultIfBlank(eventUri.getPath(), "/");
-                if (eventPath.startsWith(serverPath + "/")) {
-                    return true;
-                }
-            }
-        } catch (URISyntaxException e) {
-            return false;
-        }
-        return false;
+        return matcher.isEventFor(serverUrl, eventUrl);
     }
 
     /**
@@ -225,10 +197,8 @@ public class GiteaServers extends GlobalConfiguration {
      * @return the list of endpoints
      */
     @NonNull
-    public synchronized List<GiteaServer> getServers() {
-        return servers == null || servers.isEmpty()
-                ? Collections.<GiteaServer>emptyList()
-                : Collections.unmodifiableList(servers);
+    public List<GiteaServer> getServers() {
+        return snapshot.servers;
     }
 
     /**
@@ -251,6 +221,7 @@ public class GiteaServers extends GlobalConfiguration {
             serverUrls.add(serverUrl);
         }
         this.servers = eps;
+        publish(eps);
         save();
     }
 
@@ -331,14 +302,33 @@ public class GiteaServers extends GlobalConfiguration {
      * @return the global configuration for the specified server url or {@code null} if not defined.
      */
     @CheckForNull
-    public synchronized GiteaServer findServer(@CheckForNull String serverUrl) {
-        serverUrl = normalizeServerUrl(serverUrl);
-        for (GiteaServer endpoint : getServers()) {
-            if (serverUrl.equals(endpoint.getServerUrl())) {
-                return endpoint;
+    public GiteaServer findServer(@CheckForNull String serverUrl) {
+        Snapshot snapshot = this.snapshot;
+        GiteaServer server = serverUrl == null ? null : snapshot.byUrl.get(serverUrl);
+        return server != null ? server : snapshot.byUrl.get(normalizeServerUrl(serverUrl));
+    }
+
+    /**
+     * An immutable copy of the servers with an index by {@link GiteaServer#getServerUrl()}.
+     */
+    private static final class Snapshot {
+        /**
+         * The snapshot without any servers.
+         */
+        private static final Snapshot EMPTY = new Snapshot(Collections.<GiteaServer>emptyList());
+
+        private final List<GiteaServer> servers;
+        private final Map<String, GiteaServer> byUrl;
+
+        private Snapshot(@NonNull List<GiteaServer> servers) {
+            this.servers = servers.isEmpty()
+                    ? Collections.<GiteaServer>emptyList()
+                    : Collections.unmodifiableList(new ArrayList<>(servers));
+            Map<String, GiteaServer> byUrl = new HashMap<>();
+            for (GiteaServer server : this.servers) {
+                byUrl.putIfAbsent(server.getServerUrl(), server);
             }
+            this.byUrl = Collections.unmodifiableMap(byUrl);
         }
-        return null;
     }
-
 }
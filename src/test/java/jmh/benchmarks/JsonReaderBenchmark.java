@@ -0,0 +1,44 @@
+package jmh.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.apache.commons.io.IOUtils;
+import org.jenkinsci.plugin.gitea.client.api.GiteaJson;
+import org.jenkinsci.plugin.gitea.client.api.GiteaPullRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares decoding a page of pull requests with a mapper created per connection, as the client used to, against
+ * the shared {@link GiteaJson} readers. Run with the GC profiler to see the allocation difference.
+ */
+@State(Scope.Benchmark)
+public class JsonReaderBenchmark {
+
+    private byte[] page;
+
+    @Setup
+    public void setup() throws IOException {
+        try (InputStream is = JsonReaderBenchmark.class.getResourceAsStream(
+                "/org/jenkinsci/plugin/gitea/client/impl/pullRequestsResponse.json")) {
+            page = IOUtils.toString(is, StandardCharsets.UTF_8).getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    @Benchmark
+    public List<GiteaPullRequest> mapperPerConnection() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        return mapper.readerFor(mapper.getTypeFactory().constructCollectionType(List.class, GiteaPullRequest.class))
+                .readValue(page);
+    }
+
+    @Benchmark
+    public List<GiteaPullRequest> sharedReader() throws IOException {
+        return GiteaJson.listReader(GiteaPullRequest.class).readValue(page);
+    }
+}
@@ -0,0 +1,181 @@
+package jmh.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.NullOutputStream;
+import org.jenkinsci.plugin.gitea.client.impl.ResponseDecoding;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the cost of decoding a compressed page of a list response through
+ * {@code DefaultGiteaConnection.inputStream}, and, through the {@code wireBytes} and {@code decodedBytes} counters,
+ * the bytes saved on the wire. The pages are built from the recorded responses used by the client tests: each as
+ * recorded, or filled to a full page with copies whose numbers and hashes are randomized so that the page does not
+ * compress better than a real one. The {@code mixed} page draws its items from all the recorded responses.
+ */
+public class ResponseDecompressionBenchmark {
+
+    private static final String[] RECORDED = {"branchesResponse.json", "commitStatusResponse.json",
+            "hooksResponse.json", "issuesResponse.json", "pullRequestSummariesResponse.json",
+            "pullRequestsResponse.json", "repoResponse.json", "tagsResponse.json", "usersResponse.json"};
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{40}");
+    private static final Pattern NUMBER = Pattern.compile("\\d+");
+
+    @State(Scope.Benchmark)
+    public static class Payload {
+        @Param({"branchesResponse.json", "issuesResponse.json", "pullRequestsResponse.json", "tagsResponse.json",
+                "mixed"})
+        public String resource;
+        @Param({"1", "50"})
+        public int pageSize;
+        @Param({"identity", "gzip", "deflate"})
+        public String encoding;
+
+        byte[] decoded;
+        byte[] encoded;
+        private URL url;
+
+        @Setup
+        public void setup() throws IOException {
+            List<String> items = new ArrayList<>();
+            for (String name : "mixed".equals(resource) ? RECORDED : new String[]{resource}) {
+                try (InputStream is = ResponseDecompressionBenchmark.class.getResourceAsStream(
+                        "/org/jenkinsci/plugin/gitea/client/impl/" + name)) {
+                    String item = IOUtils.toString(is, StandardCharsets.UTF_8).trim();
+                    // the recorded responses are arrays of one item
+                    items.add(item.substring(item.indexOf('[') + 1, item.lastIndexOf(']')).trim());
+                }
+            }
+            Random random = new Random(pageSize);
+            StringBuilder page = new StringBuilder("[");
+            for (int i = 0; i < pageSize; i++) {
+                String item = items.get(i % items.size());
+                page.append(i == 0 ? "" : ",").append(i < items.size() ? item : vary(item, random));
+            }
+            decoded = page.append(']').toString().getBytes(StandardCharsets.UTF_8);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            switch (encoding) {
+                case "gzip":
+                    try (OutputStream os = new GZIPOutputStream(bytes)) {
+                        os.write(decoded);
+                    }
+                    encoded = bytes.toByteArray();
+                    break;
+                case "deflate":
+                    try (OutputStream os = new DeflaterOutputStream(bytes)) {
+                        os.write(decoded);
+                    }
+                    encoded = bytes.toByteArray();
+                    break;
+                default:
+                    encoded = decoded;
+                    break;
+            }
+            url = new URL("http://gitea.example.com/api/v1/repos/owner/repo/pulls");
+        }
+
+        /**
+         * Replaces the hashes and numbers of an item with random ones of the same length.
+         */
+        private static String vary(String item, Random random) {
+            StringBuilder result = new StringBuilder();
+            Matcher hashes = HASH.matcher(item);
+            while (hashes.find()) {
+                StringBuilder hash = new StringBuilder();
+                for (int i = 0; i < 40; i++) {
+                    hash.append(Character.forDigit(random.nextInt(16), 16));
+                }
+                hashes.appendReplacement(result, hash.toString());
+            }
+            hashes.appendTail(result);
+            Matcher numbers = NUMBER.matcher(result.toString());
+            result.setLength(0);
+            while (numbers.find()) {
+                StringBuilder number = new StringBuilder();
+                for (int i = 0; i < numbers.group().length(); i++) {
+                    number.append(i == 0 && numbers.group().length() > 1 ? 1 + random.nextInt(9) : random.nextInt(10));
+                }
+                numbers.appendReplacement(result, number.toString());
+            }
+            numbers.appendTail(result);
+            return result.toString();
+        }
+
+        HttpURLConnection open() {
+            return new HttpURLConnection(url) {
+                @Override
+                public InputStream getInputStream() {
+                    return new ByteArrayInputStream(encoded);
+                }
+
+                @Override
+                public String getHeaderField(String name) {
+                    return "Content-Encoding".equalsIgnoreCase(name) && !"identity".equals(encoding)
+                            ? encoding : null;
+                }
+
+                @Override
+                public long getContentLengthLong() {
+                    return encoded.length;
+                }
+
+                @Override
+                public void connect() {
+                }
+
+                @Override
+                public void disconnect() {
+                }
+
+                @Override
+                public boolean usingProxy() {
+                    return false;
+                }
+            };
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Bytes {
+        public long wireBytes;
+        public long decodedBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            wireBytes = 0;
+            decodedBytes = 0;
+        }
+    }
+
+    @Benchmark
+    public long decode(Payload payload, Bytes bytes) throws IOException {
+        long decoded;
+        try (InputStream is = ResponseDecoding.inputStream(payload.open())) {
+            decoded = IOUtils.copyLarge(is, NullOutputStream.INSTANCE);
+        }
+        bytes.wireBytes += payload.encoded.length;
+        bytes.decodedBytes += decoded;
+        return decoded;
+    }
+}
@@ -0,0 +1,90 @@
+package jmh.benchmarks;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.List;
+import org.apache.commons.lang.StringUtils;
+import org.jenkinsci.plugin.gitea.servers.GiteaServer;
+import org.jenkinsci.plugin.gitea.servers.GiteaServerMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares matching one webhook event against the server URL of every source, parsing both URLs on every call as
+ * {@code GiteaServers.isEventFor} used to (leaving out its alias lookup, which needs a running Jenkins), against the
+ * {@link GiteaServerMatcher} snapshot.
+ */
+@State(Scope.Benchmark)
+public class ServerMatchingBenchmark {
+
+    @Param({"10000"})
+    public int sources;
+
+    private String[] serverUrls;
+    private GiteaServerMatcher matcher;
+    private final String eventUrl = "https://gitea.example.com/bob/project";
+
+    @Setup
+    public void setup() {
+        String[] servers = {
+                "https://gitea.example.com", "https://Gitea.example.com/", "https://git.example.org",
+                "http://gitea.internal:3000", "https://example.net/gitea"
+        };
+        serverUrls = new String[sources];
+        for (int i = 0; i < sources; i++) {
+            serverUrls[i] = servers[i % servers.length];
+        }
+        matcher = GiteaServerMatcher.of(List.of(
+                new GiteaServer("Gitea", "https://gitea.example.com", false, null, "http://gitea.internal:3000"),
+                new GiteaServer("Git", "https://git.example.org", false, null, null)));
+    }
+
+    @Benchmark
+    public int parsePerCall() {
+        int matches = 0;
+        for (String serverUrl : serverUrls) {
+            if (parseAndMatch(serverUrl, eventUrl)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public int snapshot() {
+        int matches = 0;
+        for (String serverUrl : serverUrls) {
+            if (matcher.isEventFor(serverUrl, eventUrl)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    private static boolean parseAndMatch(String serverUrl, String eventUrl) {
+        try {
+            URI serverUri = new URI(serverUrl);
+            URI eventUri = new URI(eventUrl);
+            if (!StringUtils.equalsIgnoreCase(serverUri.getHost(), eventUri.getHost())) {
+                return false;
+            }
+            int serverPort = serverUri.getPort() == -1
+                    ? ("http".equals(serverUri.getScheme()) ? 80 : 443)
+                    : serverUri.getPort();
+            int eventPort = eventUri.getPort() == -1
+                    ? ("http".equals(eventUri.getScheme()) ? 80 : 443)
+                    : eventUri.getPort();
+            if (StringUtils.equals(serverUri.getScheme(), eventUri.getScheme()) && serverPort != eventPort) {
+                return false;
+            }
+            String serverPath = StringUtils.defaultIfBlank(serverUri.getPath(), "");
+            String eventPath = StringUtils.defaultIfBlank(eventUri.getPath(), "/");
+            return eventPath.startsWith(serverPath + "/");
+        } catch (URISyntaxException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2017, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugin.gitea;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+class BlobCacheTest {
+
+    @Test
+    void given__cached_blob__when__get__then__hit() {
+        BlobCache cache = new BlobCache(1024);
+        String key = BlobCache.blobKey("http://gitea.test/alice/project", "ABCDEF");
+        assertThat(cache.get(key), nullValue());
+        cache.put(key, new byte[]{1, 2, 3});
+        assertThat(cache.get(BlobCache.blobKey("http://gitea.test/alice/project", "abcdef")), is(new byte[]{1, 2, 3}));
+        assertThat(cache.get(BlobCache.blobKey("http://gitea.test/bob/project", "abcdef")), nullValue());
+        assertThat(cache.hits(), is(1L));
+        assertThat(cache.misses(), is(2L));
+    }
+
+    @Test
+    void given__full_cache__when__put__then__least_recently_used_evicted() {
+        BlobCache cache = new BlobCache(10);
+        cache.put("a", new byte[4]);
+        cache.put("b", new byte[4]);
+        assertThat(cache.get("a"), notNullValue());
+        cache.put("c", new byte[4]);
+        assertThat(cache.get("b"), nullValue());
+        assertThat(cache.get("a"), notNullValue());
+        assertThat(cache.get("c"), notNullValue());
+        assertThat(cache.bytes(), is(8L));
+        assertThat(cache.evictions(), is(1L));
+    }
+
+    @Test
+    void given__oversized_content__when__put__then__not_cached() {
+        BlobCache cache = new BlobCache(10);
+        cache.put("a", new byte[11]);
+        assertThat(cache.size(), is(0));
+        assertThat(new BlobCache(0).isEnabled(), is(false));
+    }
+
+    @Test
+    void given__moving_ref__when__fileKey__then__not_cacheable() {
+        assertThat(BlobCache.fileKey("http://gitea.test/alice/project", "main", "Jenkinsfile"), nullValue());
+        assertThat(BlobCache.fileKey("http://gitea.test/alice/project",
+                "0123456789abcdef0123456789abcdef01234567", "Jenkinsfile"), notNullValue());
+    }
+}
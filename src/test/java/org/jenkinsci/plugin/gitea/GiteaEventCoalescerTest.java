@@ -0,0 +1,143 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2017, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugin.gitea;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import jenkins.scm.api.SCMEvent;
+import jenkins.scm.api.SCMHeadEvent;
+import org.jenkinsci.plugin.gitea.client.api.GiteaOwner;
+import org.jenkinsci.plugin.gitea.client.api.GiteaPushEvent;
+import org.jenkinsci.plugin.gitea.client.api.GiteaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class GiteaEventCoalescerTest {
+
+    private static final String ZERO = "0000000000000000000000000000000000000000";
+
+    private ScheduledExecutorService timer;
+    private final List<SCMHeadEvent<?>> fired = new ArrayList<>();
+    private GiteaEventCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        timer = Executors.newSingleThreadScheduledExecutor();
+        coalescer = new GiteaEventCoalescer(60000L, () -> timer, e -> {
+            synchronized (fired) {
+                fired.add(e);
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        timer.shutdownNow();
+    }
+
+    @Test
+    void given__burst_of_pushes__when__quiet_period_elapses__then__latest_after_fired_once() throws Exception {
+        coalescer = new GiteaEventCoalescer(100L, () -> timer, e -> {
+            synchronized (fired) {
+                fired.add(e);
+            }
+        });
+        submit(push("refs/heads/main", ZERO, "1111"));
+        submit(push("refs/heads/main", "1111", "2222"));
+        submit(push("refs/heads/main", "2222", "3333"));
+        submit(push("refs/heads/feature", "aaaa", "bbbb"));
+
+        assertThat(coalescer.getPendingCount(), is(2));
+        timer.shutdown();
+        assertThat(timer.awaitTermination(10, TimeUnit.SECONDS), is(true));
+
+        assertThat(fired.size(), is(2));
+        GiteaPushSCMEvent main = (GiteaPushSCMEvent) fired.stream()
+                .filter(e -> ((GiteaPushSCMEvent) e).getPayload().getRef().equals("refs/heads/main"))
+                .findFirst().orElseThrow();
+        assertThat(main.getPayload().getBefore(), is(ZERO));
+        assertThat(main.getPayload().getAfter(), is("3333"));
+        assertThat(main.getType(), is(SCMEvent.Type.CREATED));
+        assertThat(coalescer.getSubmittedCount(), is(4L));
+        assertThat(coalescer.getCoalescedCount(), is(2L));
+        assertThat(coalescer.getFiredCount(), is(2L));
+    }
+
+    @Test
+    void given__removal__when__push_follows__then__removal_fired_at_once() {
+        submit(push("refs/heads/main", "1111", ZERO));
+        submit(push("refs/heads/main", ZERO, "2222"));
+
+        assertThat(fired.size(), is(1));
+        assertThat(fired.get(0).getType(), is(SCMEvent.Type.REMOVED));
+        assertThat(coalescer.getPendingCount(), is(1));
+    }
+
+    @Test
+    void given__update__when__removal_follows__then__removal_supersedes_update() {
+        submit(push("refs/heads/main", "1111", "2222"));
+        submit(push("refs/heads/main", "2222", ZERO));
+
+        assertThat(fired.size(), is(0));
+        assertThat(coalescer.getCoalescedCount(), is(1L));
+        assertThat(coalescer.getPendingCount(), is(1));
+    }
+
+    @Test
+    void given__no_quiet_period__when__submit__then__fired_at_once() {
+        coalescer = new GiteaEventCoalescer(0L, () -> timer, fired::add);
+        submit(push("refs/heads/main", "1111", "2222"));
+        submit(push("refs/heads/main", "2222", "3333"));
+
+        assertThat(fired.size(), is(2));
+        assertThat(coalescer.getPendingCount(), is(0));
+    }
+
+    private void submit(GiteaPushSCMEvent event) {
+        coalescer.submit(GiteaEventCoalescer.keyOf(event.getPayload().getRepository(),
+                "push::" + event.getPayload().getRef()), event, GiteaPushSCMEvent::merge);
+    }
+
+    private static GiteaPushSCMEvent push(String ref, String before, String after) {
+        GiteaOwner owner = new GiteaOwner();
+        owner.setUsername("bob");
+        GiteaRepository repository = new GiteaRepository();
+        repository.setOwner(owner);
+        repository.setName("project");
+        repository.setHtmlUrl("https://gitea.example.com/bob/project");
+        GiteaPushEvent payload = new GiteaPushEvent();
+        payload.setRepository(repository);
+        payload.setRef(ref);
+        payload.setBefore(before);
+        payload.setAfter(after);
+        return new GiteaPushSCMEvent(payload, "test");
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2017, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugin.gitea;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import jenkins.scm.api.SCMFile;
+import org.apache.commons.io.IOUtils;
+import org.jenkinsci.plugin.gitea.client.api.GiteaHttpStatusException;
+import org.jenkinsci.plugin.gitea.client.api.GiteaOwner;
+import org.jenkinsci.plugin.gitea.client.api.GiteaRepository;
+import org.jenkinsci.plugin.gitea.client.api.GiteaTree;
+import org.jenkinsci.plugin.gitea.client.mock.MockGiteaConnection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GiteaSCMFileTest {
+
+    private static final String REF = "0123456789abcdef0123456789abcdef01234567";
+
+    private GiteaRepository repo;
+    private AtomicInteger checks;
+    private AtomicInteger fetches;
+
+    @BeforeEach
+    void setUp() {
+        GiteaOwner owner = new GiteaOwner();
+        owner.setUsername("alice");
+        repo = new GiteaRepository();
+        repo.setOwner(owner);
+        repo.setName("project");
+        checks = new AtomicInteger();
+        fetches = new AtomicInteger();
+    }
+
+    @Test
+    void given__trees_api__when__children__then__types_from_listing() throws Exception {
+        MockGiteaConnection c = connection(null).withVersion("1.20.0");
+        GiteaSCMFile root = new GiteaSCMFile(c, repo, REF);
+        List<String> names = new ArrayList<>();
+        List<SCMFile.Type> types = new ArrayList<>();
+        for (SCMFile child : root.children()) {
+            names.add(child.getName());
+            types.add(child.getType());
+        }
+        assertThat(names, contains("Jenkinsfile", "lib", "link", "src"));
+        assertThat(types, contains(SCMFile.Type.REGULAR_FILE, SCMFile.Type.OTHER, SCMFile.Type.LINK,
+                SCMFile.Type.DIRECTORY));
+        assertThat(root.child("src").getType(), is(SCMFile.Type.DIRECTORY));
+        assertThat(root.child("src/Main.java").getType(), is(SCMFile.Type.REGULAR_FILE));
+        assertThat(root.child("src/Missing.java").getType(), is(SCMFile.Type.NONEXISTENT));
+        assertThat(root.child("Jenkinsfile/nested").getType(), is(SCMFile.Type.NONEXISTENT));
+        try (InputStream content = root.child("Jenkinsfile").content()) {
+            assertThat(IOUtils.toString(content, StandardCharsets.UTF_8), is("pipeline {}"));
+        }
+        assertThat(checks.get(), is(0));
+    }
+
+    @Test
+    void given__connection_without_trees__when__type__then__checks_each_file() throws Exception {
+        MockGiteaConnection c = connection(() -> null);
+        GiteaSCMFile root = new GiteaSCMFile(c, repo, REF);
+        assertThat(root.child("Jenkinsfile").getType(), is(SCMFile.Type.REGULAR_FILE));
+        assertThat(root.child("Missing").getType(), is(SCMFile.Type.NONEXISTENT));
+        assertThat(checks.get(), is(2));
+    }
+
+    @Test
+    void given__server_without_trees_api__when__type__then__checks_each_file() throws Exception {
+        MockGiteaConnection c = connection(() -> {
+            throw new GiteaHttpStatusException(404, "Not Found");
+        }).withVersion("1.6.4");
+        GiteaSCMFile root = new GiteaSCMFile(c, repo, REF);
+        assertThat(root.child("Jenkinsfile").getType(), is(SCMFile.Type.REGULAR_FILE));
+        assertThat(checks.get(), is(1));
+    }
+
+    @Test
+    void given__missing_ref__when__type__then__nonexistent() throws Exception {
+        MockGiteaConnection c = connection(null).withVersion("1.20.0");
+        GiteaSCMFile root = new GiteaSCMFile(c, repo, "feature");
+        assertThat(root.child("Jenkinsfile").getType(), is(SCMFile.Type.NONEXISTENT));
+        assertThat(checks.get(), is(0));
+    }
+
+    @Test
+    void given__server_error__when__type__then__propagates() {
+        for (int status : new int[]{401, 403, 503}) {
+            MockGiteaConnection c = connection(() -> {
+                throw new GiteaHttpStatusException(status, "Error");
+            }).withVersion("1.6.4");
+            GiteaSCMFile root = new GiteaSCMFile(c, repo, REF);
+            GiteaHttpStatusException e =
+                    assertThrows(GiteaHttpStatusException.class, () -> root.child("Jenkinsfile").getType());
+            assertThat(e.getStatusCode(), is(status));
+        }
+        assertThat(checks.get(), is(0));
+    }
+
+    @Test
+    void given__cached_blob__when__content__then__not_fetched_again() throws Exception {
+        repo.setHtmlUrl("http://gitea.test/alice/cached-blob");
+        MockGiteaConnection c = connection(null).withVersion("1.20.0");
+        for (int i = 0; i < 2; i++) {
+            // a new file system for each read, as every scan of a head gets its own
+            GiteaSCMFile root = new GiteaSCMFile(c, repo, REF);
+            try (InputStream content = root.child("Jenkinsfile").content()) {
+                assertThat(IOUtils.toString(content, StandardCharsets.UTF_8), is("pipeline {}"));
+            }
+        }
+        assertThat(fetches.get(), is(1));
+    }
+
+    /**
+     * Creates a connection with a few files at {@link #REF}.
+     *
+     * @param tree replaces the tree listing of the mock, {@code null} to keep it.
+     * @return the connection.
+     */
+    private MockGiteaConnection connection(TreeListing tree) {
+        MockGiteaConnection c = new MockGiteaConnection("alice") {
+            @Override
+            public GiteaTree fetchTree(GiteaRepository repository, String sha) throws IOException {
+                return tree == null ? super.fetchTree(repository, sha) : tree.fetch();
+            }
+
+            @Override
+            public boolean checkFile(GiteaRepository repository, String ref, String path) throws IOException {
+                checks.incrementAndGet();
+                return super.checkFile(repository, ref, path);
+            }
+
+            @Override
+            public byte[] fetchFile(GiteaRepository repository, String ref, String path) throws IOException {
+                fetches.incrementAndGet();
+                return super.fetchFile(repository, ref, path);
+            }
+        };
+        return c.withRepo(repo)
+                .withFile(repo, REF, "Jenkinsfile", "pipeline {}".getBytes(StandardCharsets.UTF_8))
+                .withFile(repo, REF, "src/Main.java", new byte[0])
+                .withFile(repo, REF, "link", GiteaTree.Entry.MODE_SYMLINK,
+                        "Jenkinsfile".getBytes(StandardCharsets.UTF_8))
+                .withFile(repo, REF, "lib", "160000", new byte[0]);
+    }
+
+    private interface TreeListing {
+        GiteaTree fetch() throws IOException;
+    }
+}
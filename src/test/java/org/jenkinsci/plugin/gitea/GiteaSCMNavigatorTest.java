@@ -0,0 +1,229 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2017, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugin.gitea;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import hudson.console.ConsoleNote;
+import hudson.model.TaskListener;
+import hudson.util.StreamTaskListener;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import jenkins.branch.OrganizationFolder;
+import jenkins.scm.api.SCMSource;
+import jenkins.scm.api.SCMSourceObserver;
+import jenkins.scm.api.SCMSourceOwner;
+import org.jenkinsci.plugin.gitea.client.api.GiteaOwner;
+import org.jenkinsci.plugin.gitea.client.api.GiteaRepository;
+import org.jenkinsci.plugin.gitea.client.api.GiteaUser;
+import org.jenkinsci.plugin.gitea.client.mock.MockGiteaConnection;
+import org.jenkinsci.plugin.gitea.client.mock.MockGiteaConnectionFactory;
+import org.jenkinsci.plugin.gitea.servers.GiteaServer;
+import org.jenkinsci.plugin.gitea.servers.GiteaServers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.startsWith;
+
+@WithJenkins
+class GiteaSCMNavigatorTest {
+
+    private static final String SERVER_URL = "http://gitea.test/scan";
+
+    private static final int REPOSITORIES = 10;
+
+    private OrganizationFolder folder;
+
+    @BeforeEach
+    void setUp(JenkinsRule j) throws Exception {
+
+        GiteaServers.get().addServer(new GiteaServer("Gitea", SERVER_URL, false, null));
+        GiteaUser bob = new GiteaUser();
+        bob.setUsername("bob");
+        MockGiteaConnection c = new MockGiteaConnection("bob").withUser(bob);
+        for (int i = 0; i < REPOSITORIES; i++) {
+            GiteaOwner owner = new GiteaOwner();
+            owner.setUsername("bob");
+            GiteaRepository repository = new GiteaRepository();
+            repository.setOwner(owner);
+            repository.setName("repo-" + i);
+            repository.setHtmlUrl(SERVER_URL + "/bob/repo-" + i);
+            c.withRepo(repository);
+        }
+        MockGiteaConnectionFactory.reset();
+        MockGiteaConnectionFactory.register(c, SERVER_URL);
+        folder = j.jenkins.createProject(OrganizationFolder.class, "bob");
+    }
+
+    @AfterEach
+    void tearDown() {
+        MockGiteaConnectionFactory.reset();
+    }
+
+    @Test
+    void given__parallel_scan__when__visitSources__then__every_repository_observed_once() throws Exception {
+        RecordingObserver observer = new RecordingObserver(folder, 0);
+        navigator(4).visitSources(observer);
+
+        assertThat(observer.completed.size(), is(REPOSITORIES));
+        assertThat(observer.completed.values(), everyItem(is(1)));
+        for (int i = 0; i < REPOSITORIES; i++) {
+            List<SCMSource> sources = observer.sources.get("repo-" + i);
+            assertThat(sources.size(), is(1));
+            assertThat(((GiteaSCMSource) sources.get(0)).getRepository(), is("repo-" + i));
+        }
+        assertThat(observer.threads, everyItem(startsWith("GiteaSCMNavigator.visitSources [bob]")));
+        // the observer of an organization folder is not thread safe
+        assertThat(observer.maxCompleting.get(), is(1));
+
+        List<String> lines = observer.lines();
+        for (int i = 0; i < REPOSITORIES; i++) {
+            int index = lines.indexOf("Checking repository repo-" + i);
+            assertThat(lines.get(index + 1), is("Proposing repo-" + i));
+            assertThat(lines.get(index + 2), is("Completed repo-" + i));
+        }
+        assertThat(observer.log(), containsString(REPOSITORIES + " repositories were processed"));
+    }
+
+    @Test
+    void given__parallel_scan__when__request_complete__then__remaining_repositories_skipped() throws Exception {
+        RecordingObserver observer = new RecordingObserver(folder, 1);
+        navigator(2).visitSources(observer);
+
+        // only the repositories already being processed when the first one completed the request
+        assertThat(observer.completed.size(), greaterThanOrEqualTo(1));
+        assertThat(observer.completed.size(), lessThanOrEqualTo(2));
+        assertThat(observer.log(), containsString("(query complete)"));
+    }
+
+    private static GiteaSCMNavigator navigator(int parallelism) {
+        GiteaSCMNavigator navigator = new GiteaSCMNavigator(SERVER_URL, "bob");
+        navigator.setTraits(List.of(new ParallelRepositoryScanTrait(parallelism)));
+        return navigator;
+    }
+
+    /**
+     * Records what the navigator observes, like the observer of an organization folder it is not thread safe when
+     * completing a project.
+     */
+    private static class RecordingObserver extends SCMSourceObserver {
+        private final SCMSourceOwner owner;
+        private final int limit;
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        private final TaskListener listener = new StreamTaskListener(out, StandardCharsets.UTF_8);
+        private final Map<String, Integer> completed = new ConcurrentHashMap<>();
+        private final Map<String, List<SCMSource>> sources = new ConcurrentHashMap<>();
+        private final Set<String> threads = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger completing = new AtomicInteger();
+        private final AtomicInteger maxCompleting = new AtomicInteger();
+
+        RecordingObserver(SCMSourceOwner owner, int limit) {
+            this.owner = owner;
+            this.limit = limit;
+        }
+
+        @NonNull
+        @Override
+        public SCMSourceOwner getContext() {
+            return owner;
+        }
+
+        @NonNull
+        @Override
+        public TaskListener getListener() {
+            return listener;
+        }
+
+        @NonNull
+        @Override
+        public ProjectObserver observe(@NonNull String projectName) {
+            threads.add(Thread.currentThread().getName());
+            List<SCMSource> added = new ArrayList<>();
+            return new ProjectObserver() {
+                @Override
+                public void addSource(@NonNull SCMSource source) {
+                    added.add(source);
+                }
+
+                @Override
+                public void addAttribute(@NonNull String key, @Nullable Object value) {
+                }
+
+                @Override
+                public void complete() throws InterruptedException {
+                    maxCompleting.accumulateAndGet(completing.incrementAndGet(), Math::max);
+                    try {
+                        // give the other threads a chance to overlap
+                        Thread.sleep(20);
+                        sources.put(projectName, added);
+                        completed.merge(projectName, 1, Integer::sum);
+                        listener.getLogger().format("      Completed %s%n", projectName);
+                    } finally {
+                        completing.decrementAndGet();
+                    }
+                }
+            };
+        }
+
+        @Override
+        public void addAttribute(@NonNull String key, @Nullable Object value) {
+        }
+
+        @Override
+        public boolean isObserving() {
+            return limit == 0 || completed.size() < limit;
+        }
+
+        String log() {
+            listener.getLogger().flush();
+            return out.toString(StandardCharsets.UTF_8);
+        }
+
+        List<String> lines() {
+            List<String> result = new ArrayList<>();
+            for (String line : log().split("\\R")) {
+                line = ConsoleNote.removeNotes(line).trim();
+                if (!line.isEmpty()) {
+                    result.add(line);
+                }
+            }
+            return result;
+        }
+    }
+}
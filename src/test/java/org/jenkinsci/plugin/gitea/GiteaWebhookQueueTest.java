@@ -0,0 +1,145 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2017, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugin.gitea;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class GiteaWebhookQueueTest {
+
+    @Test
+    void given__full_queue__when__offer__then__payload_dropped() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch calls = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        GiteaWebhookHandler<?, ?> handler = Mockito.mock(GiteaWebhookHandler.class);
+        Mockito.doAnswer(invocation -> {
+            started.countDown();
+            calls.countDown();
+            release.await();
+            return null;
+        }).when(handler).process(Mockito.any(InputStream.class), Mockito.anyString());
+        List<GiteaWebhookHandler<?, ?>> handlers = Collections.singletonList(handler);
+        GiteaWebhookQueue queue = new GiteaWebhookQueue(1, 1);
+
+        assertThat(queue.offer(handlers, new byte[0], "test"), is(true));
+        assertThat(started.await(10, TimeUnit.SECONDS), is(true));
+        assertThat(queue.offer(handlers, new byte[0], "test"), is(true));
+        assertThat(queue.getQueueDepth(), is(1));
+        assertThat(queue.offer(handlers, new byte[0], "test"), is(false));
+        assertThat(queue.getDroppedCount(), is(1L));
+
+        release.countDown();
+        // once the second payload is being processed there is room in the queue again
+        assertThat(calls.await(10, TimeUnit.SECONDS), is(true));
+        long[] counters = drain(queue);
+        assertThat(queue.getAcceptedCount(), is(3L));
+        assertThat(counters[0], is(2L));
+        assertThat(queue.getQueueDepth(), is(0));
+    }
+
+    @Test
+    void given__queued_bytes_at_limit__when__offer__then__payload_dropped() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        GiteaWebhookHandler<?, ?> handler = Mockito.mock(GiteaWebhookHandler.class);
+        Mockito.doAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return null;
+        }).when(handler).process(Mockito.any(InputStream.class), Mockito.anyString());
+        List<GiteaWebhookHandler<?, ?>> handlers = Collections.singletonList(handler);
+        GiteaWebhookQueue queue = new GiteaWebhookQueue(10, 1, 100L);
+
+        assertThat(queue.offer(handlers, new byte[60], "test"), is(true));
+        assertThat(started.await(10, TimeUnit.SECONDS), is(true));
+        assertThat(queue.offer(handlers, new byte[60], "test"), is(false));
+        assertThat(queue.offer(handlers, new byte[40], "test"), is(true));
+        assertThat(queue.getQueuedBytes(), is(100L));
+        assertThat(queue.getDroppedCount(), is(1L));
+
+        release.countDown();
+        long[] counters = drain(queue);
+        assertThat(counters[1], is(0L));
+        assertThat(queue.getQueuedBytes(), is(0L));
+    }
+
+    @Test
+    void given__handlers__when__offer__then__each_handler_reads_the_whole_payload() throws Exception {
+        GiteaWebhookHandler<?, ?> first = Mockito.mock(GiteaWebhookHandler.class);
+        GiteaWebhookHandler<?, ?> second = Mockito.mock(GiteaWebhookHandler.class);
+        StringBuilder payloads = new StringBuilder();
+        for (GiteaWebhookHandler<?, ?> h : List.of(first, second)) {
+            Mockito.doAnswer(invocation -> {
+                synchronized (payloads) {
+                    payloads.append(IOUtils.toString(invocation.getArgument(0, InputStream.class),
+                            StandardCharsets.UTF_8));
+                }
+                return null;
+            }).when(h).process(Mockito.any(InputStream.class), Mockito.anyString());
+        }
+        Mockito.doThrow(new IllegalStateException("boom"))
+                .when(first).process(Mockito.any(InputStream.class), Mockito.eq("broken"));
+        GiteaWebhookQueue queue = new GiteaWebhookQueue(0, 1);
+
+        assertThat(queue.isAsynchronous(), is(false));
+        assertThat(queue.offer(List.of(first, second), "{}".getBytes(StandardCharsets.UTF_8), "test"), is(true));
+        assertThat(payloads.toString(), is("{}{}"));
+        assertThat(queue.offer(List.of(first, second), "[]".getBytes(StandardCharsets.UTF_8), "broken"), is(true));
+        assertThat(queue.getFailedCount(), is(1L));
+        assertThat(queue.getProcessedCount(), is(3L));
+    }
+
+    /**
+     * Queues an empty payload behind those already queued and waits for the single worker of the queue to reach
+     * it, at which point the payloads queued before it have been processed.
+     *
+     * @param queue the queue.
+     * @return the processed count and the queued bytes as seen by the worker when it reached the empty payload.
+     */
+    private static long[] drain(GiteaWebhookQueue queue) throws Exception {
+        CountDownLatch reached = new CountDownLatch(1);
+        long[] counters = new long[2];
+        GiteaWebhookHandler<?, ?> sentinel = Mockito.mock(GiteaWebhookHandler.class);
+        Mockito.doAnswer(invocation -> {
+            counters[0] = queue.getProcessedCount();
+            counters[1] = queue.getQueuedBytes();
+            reached.countDown();
+            return null;
+        }).when(sentinel).process(Mockito.any(InputStream.class), Mockito.anyString());
+        assertThat(queue.offer(List.of(sentinel), new byte[0], "drain"), is(true));
+        assertThat(reached.await(10, TimeUnit.SECONDS), is(true));
+        return counters;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2017, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugin.gitea;
+
+import java.io.File;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+class HeadSnapshotTest {
+
+    @TempDir
+    File tmp;
+
+    private HeadSnapshot scan(File file, long configured) {
+        HeadSnapshot snapshot = new HeadSnapshot(file, configured);
+        snapshot.begin(true, true);
+        snapshot.branch("main", "aaa");
+        snapshot.match(new BranchSCMHead("main"), true);
+        snapshot.branch("feature", "bbb");
+        snapshot.tag("v1.0", "ccc", "ddd");
+        snapshot.match(new TagSCMHead("v1.0", 0L), false);
+        snapshot.save(1000L);
+        return snapshot;
+    }
+
+    @Test
+    void given__saved_snapshot__when__repository_not_updated__then__heads_replayed() {
+        File file = new File(tmp, "snapshots/source.xml");
+        scan(file, 42L);
+
+        HeadSnapshot snapshot = new HeadSnapshot(file, 42L);
+        assertThat(snapshot.isUnchanged(1000L, true, true), is(true));
+        assertThat(snapshot.isUnchanged(2000L, true, true), is(false));
+        assertThat(snapshot.getBranches(), hasSize(2));
+        assertThat(snapshot.getTags(), hasSize(1));
+        assertThat(snapshot.getTags().get(0).getId(), is("ccc"));
+        assertThat(snapshot.getTags().get(0).getCommit().getSha(), is("ddd"));
+    }
+
+    @Test
+    void given__saved_snapshot__when__revision_unchanged__then__criteria_reused() {
+        File file = new File(tmp, "source.xml");
+        scan(file, 42L);
+
+        HeadSnapshot snapshot = new HeadSnapshot(file, 42L);
+        assertThat(snapshot.getMatch(new BranchSCMHead("main"), "aaa"), is(true));
+        assertThat(snapshot.getMatch(new BranchSCMHead("main"), "eee"), nullValue());
+        assertThat(snapshot.getMatch(new BranchSCMHead("feature"), "bbb"), nullValue());
+        assertThat(snapshot.getMatch(new TagSCMHead("v1.0", 0L), "ddd"), is(false));
+        assertThat(snapshot.getMatch(new BranchSCMHead("v1.0"), "ddd"), nullValue());
+    }
+
+    @Test
+    void given__saved_snapshot__when__configuration_changed__then__nothing_reused() {
+        File file = new File(tmp, "source.xml");
+        scan(file, 42L);
+
+        HeadSnapshot snapshot = new HeadSnapshot(file, 43L);
+        assertThat(snapshot.isUnchanged(1000L, true, true), is(false));
+        assertThat(snapshot.getMatch(new BranchSCMHead("main"), "aaa"), nullValue());
+    }
+
+    @Test
+    void given__branches_only_snapshot__when__tags_required__then__changed() {
+        File file = new File(tmp, "source.xml");
+        HeadSnapshot first = new HeadSnapshot(file, 42L);
+        first.begin(true, false);
+        first.save(1000L);
+
+        HeadSnapshot snapshot = new HeadSnapshot(file, 42L);
+        assertThat(snapshot.isUnchanged(1000L, true, false), is(true));
+        assertThat(snapshot.isUnchanged(1000L, true, true), is(false));
+    }
+}
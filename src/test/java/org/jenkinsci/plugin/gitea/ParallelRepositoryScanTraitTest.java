@@ -0,0 +1,60 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2017, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugin.gitea;
+
+import hudson.util.FormValidation;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@WithJenkins
+class ParallelRepositoryScanTraitTest {
+
+    @Test
+    void given__out_of_range__when__constructed__then__clamped(JenkinsRule j) {
+        assertThat(new ParallelRepositoryScanTrait(0).getParallelism(), is(1));
+        assertThat(new ParallelRepositoryScanTrait(8).getParallelism(), is(8));
+        assertThat(new ParallelRepositoryScanTrait(1000).getParallelism(), is(ParallelRepositoryScanTrait.MAX_PARALLELISM));
+    }
+
+    @Test
+    void given__parallelism__when__doCheckParallelism__then__only_1_to_64_accepted(JenkinsRule j) {
+        ParallelRepositoryScanTrait.DescriptorImpl descriptor =
+                j.jenkins.getDescriptorByType(ParallelRepositoryScanTrait.DescriptorImpl.class);
+        assertThat(descriptor.doCheckParallelism(0).kind, is(FormValidation.Kind.ERROR));
+        assertThat(descriptor.doCheckParallelism(1).kind, is(FormValidation.Kind.OK));
+        assertThat(descriptor.doCheckParallelism(64).kind, is(FormValidation.Kind.OK));
+        assertThat(descriptor.doCheckParallelism(65).kind, is(FormValidation.Kind.ERROR));
+    }
+
+    @Test
+    void given__trait__when__applied__then__context_parallelism_set(JenkinsRule j) {
+        GiteaSCMNavigatorContext context =
+                new GiteaSCMNavigatorContext().withTrait(new ParallelRepositoryScanTrait(16));
+        assertThat(context.getParallelism(), is(16));
+    }
+}
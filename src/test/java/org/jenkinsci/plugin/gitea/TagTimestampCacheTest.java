@@ -0,0 +1,84 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2017, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugin.gitea;
+
+import java.io.File;
+import java.nio.file.Files;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+class TagTimestampCacheTest {
+
+    @TempDir
+    File tmp;
+
+    @Test
+    void given__saved_timestamps__when__reloaded__then__timestamps_survive() {
+        File file = new File(tmp, "cache/timestamps.xml");
+        TagTimestampCache cache = new TagTimestampCache(file);
+        assertThat(cache.get("ABC123"), nullValue());
+        cache.put("ABC123", 1234L);
+        cache.save();
+
+        TagTimestampCache reloaded = new TagTimestampCache(file);
+        assertThat(reloaded.size(), is(1));
+        assertThat(reloaded.get("abc123"), is(1234L));
+    }
+
+    @Test
+    void given__tags_not_seen__when__retainSeen__then__deleted_tags_forgotten() {
+        File file = new File(tmp, "timestamps.xml");
+        TagTimestampCache cache = new TagTimestampCache(file);
+        cache.put("aaa", 1L);
+        cache.put("bbb", 2L);
+        cache.save();
+
+        TagTimestampCache reloaded = new TagTimestampCache(file);
+        assertThat(reloaded.get("aaa"), is(1L));
+        reloaded.retainSeen();
+        reloaded.save();
+
+        assertThat(new TagTimestampCache(file).get("bbb"), nullValue());
+        assertThat(new TagTimestampCache(file).get("aaa"), is(1L));
+    }
+
+    @Test
+    void given__corrupt_file__when__loaded__then__empty() throws Exception {
+        File file = new File(tmp, "timestamps.xml");
+        Files.writeString(file.toPath(), "<not-a-map");
+        assertThat(new TagTimestampCache(file).size(), is(0));
+    }
+
+    @Test
+    void given__no_file__when__saved__then__memory_only() {
+        TagTimestampCache cache = new TagTimestampCache(null);
+        cache.put("aaa", 1L);
+        cache.save();
+        assertThat(cache.get("aaa"), is(1L));
+    }
+}
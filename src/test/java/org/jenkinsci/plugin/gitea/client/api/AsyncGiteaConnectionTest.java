@@ -0,0 +1,44 @@
+package org.jenkinsci.plugin.gitea.client.api;
+
+import java.io.FileNotFoundException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.jenkinsci.plugin.gitea.client.mock.MockGiteaConnection;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+class AsyncGiteaConnectionTest {
+
+    @Test
+    void given__blocking_connection__when__async__then__result_delivered() throws Exception {
+        GiteaConnection connection = new MockGiteaConnection("bob");
+        assertThat(AsyncGiteaConnection.await(connection.async().fetchVersion()).getVersion(), is("mock"));
+    }
+
+    @Test
+    void given__failing_call__when__await__then__original_exception_rethrown() throws Exception {
+        GiteaConnection connection = mock(GiteaConnection.class, withSettings().defaultAnswer(CALLS_REAL_METHODS));
+        when(connection.fetchTags("bob", "missing")).thenThrow(new FileNotFoundException("missing"));
+        CompletableFuture<List<GiteaTag>> tags = connection.async().fetchTags("bob", "missing");
+        assertThrows(FileNotFoundException.class, () -> AsyncGiteaConnection.await(tags));
+    }
+
+    @Test
+    void given__several_calls__when__await__then__each_completes() throws Exception {
+        GiteaConnection connection = mock(GiteaConnection.class, withSettings().defaultAnswer(CALLS_REAL_METHODS));
+        when(connection.fetchBranches("bob", "repo")).thenReturn(Collections.singletonList(new GiteaBranch()));
+        when(connection.fetchTags("bob", "repo")).thenReturn(Collections.emptyList());
+        CompletableFuture<List<GiteaBranch>> branches = connection.async().fetchBranches("bob", "repo");
+        CompletableFuture<List<GiteaTag>> tags = connection.async().fetchTags("bob", "repo");
+        assertThat(AsyncGiteaConnection.await(branches).size(), is(1));
+        assertThat(AsyncGiteaConnection.await(tags).size(), is(0));
+    }
+}
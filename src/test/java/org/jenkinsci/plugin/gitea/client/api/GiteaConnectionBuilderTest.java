@@ -23,4 +23,14 @@ class GiteaConnectionBuilderTest {
         assertThat(Gitea.server("http://gitea.test/open").open(), not(instanceOf(MockGiteaConnection.class)));
     }
 
+    @Test
+    void given__real_opened__when__mock_registered__then__mock_returned() throws Exception {
+        MockGiteaConnectionFactory.reset();
+        assertThat(Gitea.server("http://gitea.test/later").open(), not(instanceOf(MockGiteaConnection.class)));
+        MockGiteaConnectionFactory.register(new MockGiteaConnection("bob"), "http://gitea.test/later");
+        assertThat(Gitea.server("http://gitea.test/later").open(), instanceOf(MockGiteaConnection.class));
+        MockGiteaConnectionFactory.reset();
+        assertThat(Gitea.server("http://gitea.test/later").open(), not(instanceOf(MockGiteaConnection.class)));
+    }
+
 }
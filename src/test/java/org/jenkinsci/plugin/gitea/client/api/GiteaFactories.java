@@ -0,0 +1,15 @@
+package org.jenkinsci.plugin.gitea.client.api;
+
+/**
+ * Exposes the reset of the {@link Gitea} factory cache to the mock connection factory, which lives in another
+ * package.
+ */
+public final class GiteaFactories {
+
+    private GiteaFactories() {
+    }
+
+    public static void reset() {
+        Gitea.resetFactories();
+    }
+}
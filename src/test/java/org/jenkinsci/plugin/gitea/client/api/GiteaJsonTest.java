@@ -0,0 +1,35 @@
+package org.jenkinsci.plugin.gitea.client.api;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+class GiteaJsonTest {
+
+    @Test
+    void given__model_type__when__reader__then__instance_is_shared() {
+        assertThat(GiteaJson.reader(GiteaBranch.class), sameInstance(GiteaJson.reader(GiteaBranch.class)));
+        assertThat(GiteaJson.listReader(GiteaBranch.class), sameInstance(GiteaJson.listReader(GiteaBranch.class)));
+        assertThat(GiteaJson.reader(GiteaBranch.class), not(sameInstance(GiteaJson.reader(GiteaTag.class))));
+    }
+
+    @Test
+    void given__json_array__when__listReader__then__elements_are_typed() throws Exception {
+        List<GiteaBranch> branches = GiteaJson.listReader(GiteaBranch.class)
+                .readValue("[{\"name\":\"main\"},{\"name\":\"feature\"}]");
+        assertThat(branches.size(), is(2));
+        assertThat(branches.get(0).getClass(), is((Object) GiteaBranch.class));
+    }
+
+    @Test
+    void given__model__when__writer__then__round_trips() throws Exception {
+        GiteaBranch branch = new GiteaBranch();
+        branch.setName("main");
+        GiteaBranch copy = GiteaJson.reader(GiteaBranch.class).readValue(GiteaJson.writer().writeValueAsBytes(branch));
+        assertThat(copy.getName(), is("main"));
+    }
+}
@@ -0,0 +1,68 @@
+package org.jenkinsci.plugin.gitea.client.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class DefaultGiteaConnection_Compression_Test {
+
+    private static final String BODY = "[{\"name\":\"main\"},{\"name\":\"feature\"}]";
+
+    @Test
+    void test_identity_body_is_returned_as_is() throws Exception {
+        assertThat(decode(null, BODY.getBytes(StandardCharsets.UTF_8)), is(BODY));
+    }
+
+    @Test
+    void test_gzip_body_is_decoded() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream os = new GZIPOutputStream(bytes)) {
+            os.write(BODY.getBytes(StandardCharsets.UTF_8));
+        }
+        assertThat(decode("gzip", bytes.toByteArray()), is(BODY));
+    }
+
+    @Test
+    void test_zlib_deflate_body_is_decoded() throws Exception {
+        assertThat(decode("deflate", deflate(false)), is(BODY));
+    }
+
+    @Test
+    void test_raw_deflate_body_is_decoded() throws Exception {
+        assertThat(decode("deflate", deflate(true)), is(BODY));
+    }
+
+    private static byte[] deflate(boolean nowrap) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, nowrap);
+        try (OutputStream os = new DeflaterOutputStream(bytes, deflater)) {
+            os.write(BODY.getBytes(StandardCharsets.UTF_8));
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String decode(String encoding, byte[] body) throws IOException {
+        HttpURLConnection connection = Mockito.mock(HttpURLConnection.class);
+        Mockito.when(connection.getInputStream()).thenReturn(new ByteArrayInputStream(body));
+        Mockito.when(connection.getHeaderField("Content-Encoding")).thenReturn(encoding);
+        Mockito.when(connection.getContentLengthLong()).thenReturn((long) body.length);
+        try (InputStream is = DefaultGiteaConnection.inputStream(connection)) {
+            return IOUtils.toString(is, StandardCharsets.UTF_8);
+        }
+    }
+}
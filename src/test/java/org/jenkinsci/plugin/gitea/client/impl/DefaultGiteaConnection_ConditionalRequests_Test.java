@@ -0,0 +1,93 @@
+package org.jenkinsci.plugin.gitea.client.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import org.jenkinsci.plugin.gitea.client.api.GiteaAuthToken;
+import org.jenkinsci.plugin.gitea.client.api.GiteaBranch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class DefaultGiteaConnection_ConditionalRequests_Test {
+
+    private final Deque<HttpURLConnection> connections = new ArrayDeque<>();
+
+    @BeforeEach
+    void reset() {
+        ResponseCache.INSTANCE.clear();
+        connections.clear();
+    }
+
+    @Test
+    void test_fetchBranches_revalidates_with_etag() throws Exception {
+        HttpURLConnection first = createUrlConnectionMock(200, "branchesResponse.json");
+        Mockito.when(first.getHeaderField("ETag")).thenReturn("\"abc\"");
+        HttpURLConnection second = createUrlConnectionMock(304, null);
+        Mockito.when(second.getInputStream()).thenReturn(new ByteArrayInputStream(new byte[0]));
+        connections.add(first);
+        connections.add(second);
+        try (DefaultGiteaConnection giteaConnection = connection()) {
+            List<GiteaBranch> branches = giteaConnection.fetchBranches("", "");
+            assertThat(branches.size(), is(1));
+            branches = giteaConnection.fetchBranches("", "");
+            assertThat(branches.size(), is(1));
+        }
+        Mockito.verify(first, Mockito.never()).setRequestProperty(Mockito.eq("If-None-Match"), Mockito.anyString());
+        Mockito.verify(second).setRequestProperty("If-None-Match", "\"abc\"");
+    }
+
+    @Test
+    void test_fetchApiSettings_without_validators_is_not_cached() throws Exception {
+        HttpURLConnection first = createUrlConnectionMock(200, "apiSettingsResponse.json");
+        HttpURLConnection second = createUrlConnectionMock(200, "apiSettingsResponse.json");
+        connections.add(first);
+        connections.add(second);
+        try (DefaultGiteaConnection giteaConnection = connection()) {
+            assertThat(giteaConnection.fetchApiSettings().getMaxResponseItems(), is(50L));
+            assertThat(giteaConnection.fetchApiSettings().getMaxResponseItems(), is(50L));
+        }
+        Mockito.verify(second, Mockito.never()).setRequestProperty(Mockito.eq("If-None-Match"), Mockito.anyString());
+        assertThat(ResponseCache.INSTANCE.size(), is(0));
+    }
+
+    @Test
+    void test_fetchBranches_larger_than_cache_is_not_buffered_for_caching() throws Exception {
+        HttpURLConnection first = createUrlConnectionMock(200, "branchesResponse.json");
+        Mockito.when(first.getHeaderField("ETag")).thenReturn("\"abc\"");
+        Mockito.when(first.getContentLengthLong()).thenReturn(ResponseCache.INSTANCE.maxBytes() + 1);
+        HttpURLConnection second = createUrlConnectionMock(200, "branchesResponse.json");
+        connections.add(first);
+        connections.add(second);
+        try (DefaultGiteaConnection giteaConnection = connection()) {
+            assertThat(giteaConnection.fetchBranches("", "").size(), is(1));
+            assertThat(ResponseCache.INSTANCE.size(), is(0));
+            assertThat(giteaConnection.fetchBranches("", "").size(), is(1));
+        }
+        Mockito.verify(second, Mockito.never()).setRequestProperty(Mockito.eq("If-None-Match"), Mockito.anyString());
+    }
+
+    private DefaultGiteaConnection connection() {
+        return new DefaultGiteaConnection("http://conditional.server.com", new GiteaAuthToken("secret")) {
+            @Override
+            protected HttpURLConnection openConnection(String spec) {
+                return connections.remove();
+            }
+        };
+    }
+
+    private HttpURLConnection createUrlConnectionMock(int statusCode, String responseResource) throws IOException {
+        HttpURLConnection connection = Mockito.mock(HttpURLConnection.class);
+        Mockito.when(connection.getResponseCode()).thenReturn(statusCode);
+        if (responseResource != null) {
+            Mockito.when(connection.getInputStream()).thenReturn(this.getClass().getResourceAsStream(responseResource));
+        }
+        return connection;
+    }
+}
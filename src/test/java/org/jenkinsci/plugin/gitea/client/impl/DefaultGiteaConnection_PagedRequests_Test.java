@@ -1,19 +1,25 @@
 package org.jenkinsci.plugin.gitea.client.impl;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.net.HttpURLConnection;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import org.jenkinsci.plugin.gitea.client.api.GiteaAuthNone;
 import org.jenkinsci.plugin.gitea.client.api.GiteaBranch;
 import org.jenkinsci.plugin.gitea.client.api.GiteaCommitStatus;
 import org.jenkinsci.plugin.gitea.client.api.GiteaHook;
 import org.jenkinsci.plugin.gitea.client.api.GiteaIssue;
+import org.jenkinsci.plugin.gitea.client.api.GiteaIssueState;
 import org.jenkinsci.plugin.gitea.client.api.GiteaOrganization;
 import org.jenkinsci.plugin.gitea.client.api.GiteaOwner;
+import org.jenkinsci.plugin.gitea.client.api.GiteaPagedIterable;
 import org.jenkinsci.plugin.gitea.client.api.GiteaPullRequest;
 import org.jenkinsci.plugin.gitea.client.api.GiteaRepository;
 import org.jenkinsci.plugin.gitea.client.api.GiteaTag;
+import org.jenkinsci.plugin.gitea.client.api.GiteaTree;
 import org.jenkinsci.plugin.gitea.client.api.GiteaUser;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,6 +27,7 @@ import org.mockito.Mockito;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 
 class DefaultGiteaConnection_PagedRequests_Test {
 
@@ -109,6 +116,113 @@ class DefaultGiteaConnection_PagedRequests_Test {
         }
     }
 
+    @Test
+    void test_fetchBranches_with_page_size_capped_at_server_maximum() throws Exception {
+        HashMap<String, HttpURLConnection> mocks = new HashMap<>();
+        String settingsUrl = "http://pagesize.server.com/api/v1/settings/api";
+        String page1Url = "http://pagesize.server.com/api/v1/repos///branches?limit=50";
+        String page2Url = "http://pagesize.server.com/api/v1/repos///branches?limit=50&page=2";
+        mocks.put(settingsUrl, createUrlConnectionMock(200, "apiSettingsResponse.json"));
+        mocks.put(page1Url, createUrlConnectionMock(200, "branchesResponse.json", page2Url));
+        mocks.put(page2Url, createUrlConnectionMock(200, "branchesResponse.json"));
+        try (DefaultGiteaConnection giteaConnection = new GiteaConnection_PagedRequests("http://pagesize.server.com",
+                new GiteaAuthNone(), 500, mocks)) {
+            List<GiteaBranch> branches = giteaConnection.fetchBranches("", "");
+            assertThat(branches.size(), is(2));
+        }
+    }
+
+    @Test
+    void test_fetchBranches_asks_for_server_maximum_again_after_transient_failure() throws Exception {
+        HashMap<String, HttpURLConnection> mocks = new HashMap<>();
+        String settingsUrl = "http://transient.server.com/api/v1/settings/api";
+        String uncappedUrl = "http://transient.server.com/api/v1/repos///branches?limit=500";
+        String cappedUrl = "http://transient.server.com/api/v1/repos///branches?limit=50";
+        mocks.put(settingsUrl, createUrlConnectionMock(503, "apiSettingsResponse.json"));
+        mocks.put(uncappedUrl, createUrlConnectionMock(200, "branchesResponse.json"));
+        mocks.put(cappedUrl, createUrlConnectionMock(200, "branchesResponse.json"));
+        try (DefaultGiteaConnection giteaConnection = new GiteaConnection_PagedRequests("http://transient.server.com",
+                new GiteaAuthNone(), 500, mocks)) {
+            giteaConnection.fetchBranches("", "");
+            Mockito.verify(mocks.get(uncappedUrl)).connect();
+            mocks.put(settingsUrl, createUrlConnectionMock(200, "apiSettingsResponse.json"));
+            giteaConnection.fetchBranches("", "");
+            Mockito.verify(mocks.get(cappedUrl)).connect();
+        }
+    }
+
+    @Test
+    void test_fetchBranches_prefetches_remaining_pages_from_total_count() throws Exception {
+        HashMap<String, HttpURLConnection> mocks = new HashMap<>();
+        String page1Url = "http://prefetch.server.com/api/v1/repos///branches";
+        String page2Url = "http://prefetch.server.com/api/v1/repos///branches?page=2";
+        String page3Url = "http://prefetch.server.com/api/v1/repos///branches?page=3";
+        mocks.put(page1Url, createUrlConnectionMock(200, "branchesResponse.json", page2Url, 3));
+        mocks.put(page2Url, createUrlConnectionMock(200, "branchesResponse.json", page3Url, 3));
+        mocks.put(page3Url, createUrlConnectionMock(200, "branchesResponse.json", null, 3));
+        try (DefaultGiteaConnection giteaConnection = new GiteaConnection_PagedRequests("http://prefetch.server.com",
+                new GiteaAuthNone(), mocks)) {
+            List<GiteaBranch> branches = giteaConnection.fetchBranches("", "");
+            assertThat(branches.size(), is(3));
+            Mockito.verify(mocks.get(page2Url)).connect();
+            Mockito.verify(mocks.get(page3Url)).connect();
+        }
+    }
+
+    @Test
+    void test_iterateBranches_with_paged_response() throws Exception {
+        HashMap<String, HttpURLConnection> mocks = new HashMap<>();
+        String page1Url = "http://server.com/api/v1/repos///branches";
+        String page2Url = "http://server.com/api/v1/repos///branches?page2";
+        mocks.put(page1Url, createUrlConnectionMock(200, "branchesResponse.json", page2Url));
+        mocks.put(page2Url, createUrlConnectionMock(200, "branchesResponse.json"));
+        try (DefaultGiteaConnection giteaConnection = new GiteaConnection_PagedRequests("http://server.com",
+                new GiteaAuthNone(), mocks)) {
+            Iterable<GiteaBranch> branches = giteaConnection.iterateBranches("", "");
+            Mockito.verify(mocks.get(page2Url), Mockito.never()).connect();
+            int count = 0;
+            for (GiteaBranch ignored : branches) {
+                count++;
+            }
+            assertThat(count, is(2));
+            Mockito.verify(mocks.get(page2Url)).connect();
+        }
+    }
+
+    @Test
+    void test_iterateTags_stops_fetching_once_closed() throws Exception {
+        HashMap<String, HttpURLConnection> mocks = new HashMap<>();
+        String page1Url = "http://server.com/api/v1/repos///tags";
+        String page2Url = "http://server.com/api/v1/repos///tags?page2";
+        mocks.put(page1Url, createUrlConnectionMock(200, "tagsResponse.json", page2Url));
+        mocks.put(page2Url, createUrlConnectionMock(200, "tagsResponse.json"));
+        try (DefaultGiteaConnection giteaConnection = new GiteaConnection_PagedRequests("http://server.com",
+                new GiteaAuthNone(), mocks)) {
+            Iterable<GiteaTag> tags = giteaConnection.iterateTags("", "");
+            Iterator<GiteaTag> iterator = tags.iterator();
+            assertThat(iterator.hasNext(), is(true));
+            iterator.next();
+            ((Closeable) tags).close();
+            assertThat(iterator.hasNext(), is(false));
+            Mockito.verify(mocks.get(page2Url), Mockito.never()).connect();
+        }
+    }
+
+    @Test
+    void test_iterateTags_reports_page_count_from_total_count() throws Exception {
+        HashMap<String, HttpURLConnection> mocks = new HashMap<>();
+        String page1Url = "http://server.com/api/v1/repos///tags";
+        String page2Url = "http://server.com/api/v1/repos///tags?page=2";
+        mocks.put(page1Url, createUrlConnectionMock(200, "tagsResponse.json", page2Url, 3));
+        mocks.put(page2Url, createUrlConnectionMock(200, "tagsResponse.json", null, 3));
+        try (DefaultGiteaConnection giteaConnection = new GiteaConnection_PagedRequests("http://server.com",
+                new GiteaAuthNone(), mocks)) {
+            Iterable<GiteaTag> tags = giteaConnection.iterateTags("", "");
+            assertThat(((GiteaPagedIterable<?>) tags).getPageCount(), is(3L));
+            Mockito.verify(mocks.get(page2Url), Mockito.never()).connect();
+        }
+    }
+
     @Test
     void test_fetchCollaborators_with_paged_response() throws Exception {
         HashMap<String, HttpURLConnection> mocks = new HashMap<>();
@@ -179,6 +293,54 @@ class DefaultGiteaConnection_PagedRequests_Test {
         }
     }
 
+    @Test
+    void test_fetchPullRequestSummaries_projects_indexing_fields() throws Exception {
+        HashMap<String, HttpURLConnection> mocks = new HashMap<>();
+        String page1Url = "http://server.com/api/v1/repos///pulls?state=open";
+        String page2Url = "http://server.com/api/v1/repos///pulls?state=open&page2";
+        mocks.put(page1Url, createUrlConnectionMock(200, "pullRequestSummariesResponse.json", page2Url));
+        mocks.put(page2Url, createUrlConnectionMock(200, "pullRequestSummariesResponse.json"));
+        try (DefaultGiteaConnection giteaConnection = new GiteaConnection_PagedRequests("http://server.com",
+                new GiteaAuthNone(), mocks)) {
+            List<GiteaPullRequest> pullRequests = giteaConnection.fetchPullRequestSummaries(giteaRepository,
+                    EnumSet.of(GiteaIssueState.OPEN));
+            assertThat(pullRequests.size(), is(2));
+            GiteaPullRequest p = pullRequests.get(0);
+            assertThat(p.getNumber(), is(7L));
+            assertThat(p.getTitle(), is("Add feature"));
+            assertThat(p.getBase().getRef(), is("main"));
+            assertThat(p.getBase().getSha(), is("1111111111111111111111111111111111111111"));
+            assertThat(p.getBase().getRepo().getOwner().getUsername(), is("alice"));
+            assertThat(p.getHead().getRef(), is("feature"));
+            assertThat(p.getHead().getSha(), is("2222222222222222222222222222222222222222"));
+            assertThat(p.getHead().getRepo().getOwner().getUsername(), is("bob"));
+            assertThat(p.getHead().getRepo().getName(), is("project"));
+            // everything else is skipped
+            assertThat(p.getBody(), nullValue());
+            assertThat(p.getUser(), nullValue());
+            assertThat(p.getHead().getRepo().getCloneUrl(), nullValue());
+            assertThat(p.getHead().getRepo().getOwner().getEmail(), nullValue());
+        }
+    }
+
+    @Test
+    void test_fetchTree_follows_truncated_pages() throws Exception {
+        HashMap<String, HttpURLConnection> mocks = new HashMap<>();
+        mocks.put("http://server.com/api/v1/repos///git/trees/main",
+                createUrlConnectionMock(200, "treeResponsePage1.json"));
+        mocks.put("http://server.com/api/v1/repos///git/trees/main?page=2",
+                createUrlConnectionMock(200, "treeResponsePage2.json"));
+        try (DefaultGiteaConnection giteaConnection = new GiteaConnection_PagedRequests("http://server.com",
+                new GiteaAuthNone(), mocks)) {
+            GiteaTree tree = giteaConnection.fetchTree(giteaRepository, "main");
+            assertThat(tree.isTruncated(), is(false));
+            assertThat(tree.getTree().size(), is(3));
+            assertThat(tree.getTree().get(0).getPath(), is("Jenkinsfile"));
+            assertThat(tree.getTree().get(1).getType(), is("tree"));
+            assertThat(tree.getTree().get(2).getMode(), is(GiteaTree.Entry.MODE_SYMLINK));
+        }
+    }
+
     @Test
     void test_fetchIssues_from_org_with_paged_response() throws Exception {
         HashMap<String, HttpURLConnection> mocks = new HashMap<>();
@@ -199,12 +361,20 @@ class DefaultGiteaConnection_PagedRequests_Test {
 
     private HttpURLConnection createUrlConnectionMock(int statusCode, String responseResource, String nextPage)
             throws IOException {
+        return createUrlConnectionMock(statusCode, responseResource, nextPage, null);
+    }
+
+    private HttpURLConnection createUrlConnectionMock(int statusCode, String responseResource, String nextPage,
+                                                      Integer totalCount) throws IOException {
         HttpURLConnection connection = Mockito.mock(HttpURLConnection.class);
         Mockito.when(connection.getResponseCode()).thenReturn(statusCode);
         Mockito.when(connection.getInputStream()).thenReturn(this.getClass().getResourceAsStream(responseResource));
         if (nextPage != null) {
             Mockito.when(connection.getHeaderField("Link")).thenReturn(String.format("<%s>; rel=\"next\"", nextPage));
         }
+        if (totalCount != null) {
+            Mockito.when(connection.getHeaderField("X-Total-Count")).thenReturn(totalCount.toString());
+        }
         return connection;
     }
 
@@ -13,6 +13,12 @@ public class GiteaConnection_PagedRequests extends DefaultGiteaConnection {
         this.requestMocks = requestMocks;
     }
 
+    GiteaConnection_PagedRequests(@NonNull String serverUrl, @NonNull GiteaAuth authentication, Integer pageSize,
+                                  Map<String, HttpURLConnection> requestMocks) {
+        super(serverUrl, authentication, pageSize);
+        this.requestMocks = requestMocks;
+    }
+
     @Override
     protected HttpURLConnection openConnection(String spec) {
         return requestMocks.get(spec);
@@ -0,0 +1,158 @@
+package org.jenkinsci.plugin.gitea.client.impl;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.IOUtils;
+import org.jenkinsci.plugin.gitea.client.api.AsyncGiteaConnection;
+import org.jenkinsci.plugin.gitea.client.api.GiteaAuthNone;
+import org.jenkinsci.plugin.gitea.client.api.GiteaBranch;
+import org.jenkinsci.plugin.gitea.client.api.GiteaCommitStatus;
+import org.jenkinsci.plugin.gitea.client.api.GiteaHttpStatusException;
+import org.jenkinsci.plugin.gitea.client.api.GiteaOwner;
+import org.jenkinsci.plugin.gitea.client.api.GiteaPullRequest;
+import org.jenkinsci.plugin.gitea.client.api.GiteaRepository;
+import org.jenkinsci.plugin.gitea.client.api.GiteaVersion;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class HttpClientAsyncGiteaConnectionTest {
+
+    private static final int REQUESTS = 32;
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private final CountDownLatch arrived = new CountDownLatch(REQUESTS);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private HttpClientGiteaConnection connection;
+    private GiteaRepository repository;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ResponseCache.INSTANCE.clear();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        String serverUrl = "http://localhost:" + server.getAddress().getPort();
+        server.createContext("/api/v1/version", exchange -> {
+            arrived.countDown();
+            try {
+                release.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, "{\"version\":\"1.21.0\"}");
+        });
+        server.createContext("/api/v1/repos/bob/repo/branches", exchange -> {
+            if ("page=2".equals(exchange.getRequestURI().getQuery())) {
+                respond(exchange, 200, "[{\"name\":\"b\"}]");
+            } else {
+                exchange.getResponseHeaders().add("Link",
+                        "<" + serverUrl + "/api/v1/repos/bob/repo/branches?page=2>; rel=\"next\"");
+                respond(exchange, 200, "[{\"name\":\"a\"}]");
+            }
+        });
+        server.createContext("/api/v1/repos/bob/repo/pulls", exchange ->
+                respond(exchange, 404, "{\"message\":\"not found\"}"));
+        server.createContext("/api/v1/repos/bob/repo/statuses/abc", exchange -> {
+            String body = IOUtils.toString(exchange.getRequestBody(), StandardCharsets.UTF_8);
+            respond(exchange, "POST".equals(exchange.getRequestMethod()) ? 201 : 405, body);
+        });
+        server.start();
+        connection = new HttpClientGiteaConnection(serverUrl, new GiteaAuthNone(), null);
+        GiteaOwner owner = new GiteaOwner();
+        owner.setUsername("bob");
+        repository = new GiteaRepository();
+        repository.setOwner(owner);
+        repository.setName("repo");
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+
+    @Test
+    void given__slow_server__when__many_requests__then__all_in_flight_without_a_thread_each() throws Exception {
+        assertThat(connection.async(), instanceOf(HttpClientAsyncGiteaConnection.class));
+        List<CompletableFuture<GiteaVersion>> versions = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            versions.add(connection.async().fetchVersion());
+        }
+        // more requests reach the server than the fallback pool has threads
+        assertThat(arrived.await(30, TimeUnit.SECONDS), is(true));
+        for (CompletableFuture<GiteaVersion> version : versions) {
+            assertThat(version.isDone(), is(false));
+        }
+        release.countDown();
+        for (CompletableFuture<GiteaVersion> version : versions) {
+            assertThat(AsyncGiteaConnection.await(version).getVersion(), is("1.21.0"));
+        }
+    }
+
+    @Test
+    void given__paged_list__when__fetchBranches__then__all_pages_collected() throws Exception {
+        List<String> names = new ArrayList<>();
+        for (GiteaBranch branch : AsyncGiteaConnection.await(connection.async().fetchBranches(repository))) {
+            names.add(branch.getName());
+        }
+        assertThat(names, contains("a", "b"));
+        names.clear();
+        for (GiteaBranch branch : AsyncGiteaConnection.await(connection.async().iterateBranches(repository))) {
+            names.add(branch.getName());
+        }
+        assertThat(names, contains("a", "b"));
+    }
+
+    @Test
+    void given__pull_requests_disabled__when__fetchPullRequests__then__empty() throws Exception {
+        List<GiteaPullRequest> pulls = AsyncGiteaConnection.await(connection.async().fetchPullRequests(repository));
+        assertThat(pulls.size(), is(0));
+    }
+
+    @Test
+    void given__missing_repository__when__await__then__status_rethrown() {
+        GiteaHttpStatusException e = assertThrows(GiteaHttpStatusException.class,
+                () -> AsyncGiteaConnection.await(connection.async().fetchCommit("bob", "missing", "abc")));
+        assertThat(e.getStatusCode(), is(404));
+    }
+
+    @Test
+    void given__status__when__createCommitStatus__then__posted() throws Exception {
+        GiteaCommitStatus status = new GiteaCommitStatus();
+        status.setContext("ci");
+        status.setDescription("Build started...");
+        GiteaCommitStatus created =
+                AsyncGiteaConnection.await(connection.async().createCommitStatus(repository, "abc", status));
+        assertThat(created.getContext(), is("ci"));
+        assertThat(created.getDescription(), is("Build started..."));
+    }
+}
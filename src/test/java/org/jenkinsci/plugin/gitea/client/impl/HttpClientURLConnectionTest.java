@@ -0,0 +1,101 @@
+package org.jenkinsci.plugin.gitea.client.impl;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class HttpClientURLConnectionTest {
+
+    private HttpServer server;
+    private HttpClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/echo", exchange -> {
+            byte[] body = IOUtils.toByteArray(exchange.getRequestBody());
+            exchange.getResponseHeaders().add("X-Method", exchange.getRequestMethod());
+            exchange.getResponseHeaders().add("X-Auth", exchange.getRequestHeaders().getFirst("Authorization"));
+            exchange.sendResponseHeaders(200, body.length == 0 ? -1 : body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.createContext("/missing", exchange -> {
+            byte[] body = "{\"message\":\"not found\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(404, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.start();
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private HttpURLConnection open(String path) throws Exception {
+        return new HttpClientGiteaConnection.HttpClientURLConnection(
+                new URL("http://localhost:" + server.getAddress().getPort() + path), client);
+    }
+
+    @Test
+    void given__patch_with_body__then__method_headers_and_body_are_sent() throws Exception {
+        HttpURLConnection connection = open("/echo");
+        connection.setRequestProperty("Authorization", "token secret");
+        connection.setRequestMethod("PATCH");
+        connection.setRequestProperty("Content-Length", "7");
+        connection.setDoOutput(true);
+        connection.connect();
+        try (OutputStream os = connection.getOutputStream()) {
+            os.write("{\"a\":1}".getBytes(StandardCharsets.UTF_8));
+        }
+        assertThat(connection.getResponseCode(), is(200));
+        assertThat(connection.getHeaderField("X-Method"), is("PATCH"));
+        assertThat(connection.getHeaderField("X-Auth"), is("token secret"));
+        assertThat(connection.getErrorStream(), nullValue());
+        try (InputStream is = connection.getInputStream()) {
+            assertThat(IOUtils.toString(is, StandardCharsets.UTF_8), is("{\"a\":1}"));
+        }
+        connection.disconnect();
+    }
+
+    @Test
+    void given__not_found__then__body_is_on_error_stream() throws Exception {
+        HttpURLConnection connection = open("/missing");
+        connection.connect();
+        assertThat(connection.getResponseCode(), is(404));
+        assertThat(connection.getResponseMessage(), is("Not Found"));
+        assertThrows(FileNotFoundException.class, connection::getInputStream);
+        try (InputStream is = connection.getErrorStream()) {
+            assertThat(IOUtils.toString(is, StandardCharsets.UTF_8), is("{\"message\":\"not found\"}"));
+        }
+        connection.disconnect();
+    }
+
+    @Test
+    void given__status__then__reason_phrase() {
+        assertThat(HttpClientGiteaConnection.HttpClientURLConnection.reasonPhrase(200), is("OK"));
+        assertThat(HttpClientGiteaConnection.HttpClientURLConnection.reasonPhrase(503), is("Service Unavailable"));
+        assertThat(HttpClientGiteaConnection.HttpClientURLConnection.reasonPhrase(299), is("Success"));
+        assertThat(HttpClientGiteaConnection.HttpClientURLConnection.reasonPhrase(418), is("Client Error"));
+    }
+}
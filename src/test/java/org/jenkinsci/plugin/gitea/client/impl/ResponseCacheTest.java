@@ -0,0 +1,51 @@
+package org.jenkinsci.plugin.gitea.client.impl;
+
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+class ResponseCacheTest {
+
+    @Test
+    void given__credentials__when__computing_key__then__credentials_are_not_exposed() {
+        String key = ResponseCache.key("http://server.com/api/v1/user", "token secret");
+        assertThat(key.contains("secret"), is(false));
+        assertThat(key, not(ResponseCache.key("http://server.com/api/v1/user", "token other")));
+        assertThat(key, not(ResponseCache.key("http://server.com/api/v1/user", null)));
+    }
+
+    @Test
+    void given__full_cache__when__putting__then__least_recently_used_entry_is_evicted() {
+        ResponseCache cache = new ResponseCache(2, 1024L);
+        cache.put("a", entry(10));
+        cache.put("b", entry(10));
+        assertThat(cache.get("a"), notNullValue());
+        cache.put("c", entry(10));
+        assertThat(cache.get("a"), notNullValue());
+        assertThat(cache.get("b"), nullValue());
+        assertThat(cache.get("c"), notNullValue());
+        assertThat(cache.bytes(), is(20L));
+    }
+
+    @Test
+    void given__byte_bound__when__putting__then__entries_are_evicted_until_within_bound() {
+        ResponseCache cache = new ResponseCache(100, 25L);
+        cache.put("a", entry(10));
+        cache.put("b", entry(10));
+        cache.put("c", entry(10));
+        assertThat(cache.size(), is(2));
+        assertThat(cache.get("a"), nullValue());
+        cache.put("d", entry(30));
+        assertThat(cache.get("d"), nullValue());
+        assertThat(cache.bytes(), is(20L));
+    }
+
+    private static ResponseCache.Entry entry(int size) {
+        return new ResponseCache.Entry("\"tag\"", null, new byte[size], Collections.emptyMap());
+    }
+}
@@ -0,0 +1,19 @@
+package org.jenkinsci.plugin.gitea.client.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+
+/**
+ * Exposes the response decoding of {@link DefaultGiteaConnection} to the JMH benchmarks, which live in another
+ * package.
+ */
+public final class ResponseDecoding {
+
+    private ResponseDecoding() {
+    }
+
+    public static InputStream inputStream(HttpURLConnection connection) throws IOException {
+        return DefaultGiteaConnection.inputStream(connection);
+    }
+}
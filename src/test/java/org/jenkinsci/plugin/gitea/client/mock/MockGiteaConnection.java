@@ -17,11 +17,13 @@ import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.concurrent.atomic.AtomicLong;
 import org.jenkinsci.plugin.gitea.client.api.GiteaAnnotatedTag;
+import org.jenkinsci.plugin.gitea.client.api.GiteaApiSettings;
 import org.jenkinsci.plugin.gitea.client.api.GiteaBranch;
 import org.jenkinsci.plugin.gitea.client.api.GiteaCommitDetail;
 import org.jenkinsci.plugin.gitea.client.api.GiteaCommitStatus;
 import org.jenkinsci.plugin.gitea.client.api.GiteaConnection;
 import org.jenkinsci.plugin.gitea.client.api.GiteaHook;
+import org.jenkinsci.plugin.gitea.client.api.GiteaHttpStatusException;
 import org.jenkinsci.plugin.gitea.client.api.GiteaIssue;
 import org.jenkinsci.plugin.gitea.client.api.GiteaIssueState;
 import org.jenkinsci.plugin.gitea.client.api.GiteaObject;
@@ -31,6 +33,7 @@ import org.jenkinsci.plugin.gitea.client.api.GiteaPullRequest;
 import org.jenkinsci.plugin.gitea.client.api.GiteaRelease;
 import org.jenkinsci.plugin.gitea.client.api.GiteaRepository;
 import org.jenkinsci.plugin.gitea.client.api.GiteaTag;
+import org.jenkinsci.plugin.gitea.client.api.GiteaTree;
 import org.jenkinsci.plugin.gitea.client.api.GiteaUser;
 import org.jenkinsci.plugin.gitea.client.api.GiteaVersion;
 
@@ -49,6 +52,8 @@ public class MockGiteaConnection implements GiteaConnection {
     private final Map<String, List<GiteaHook>> repoHooks = new TreeMap<>();
     private final Map<String, Map<String, Map<String,byte[]>>> files = new TreeMap<>();
     private final Map<String, Map<Long, GiteaRelease>> releases = new TreeMap<>();
+    private final Map<String, String> modes = new HashMap<>();
+    private String version = "mock";
 
     public MockGiteaConnection(String user) {
         this.user = user;
@@ -91,6 +96,21 @@ public class MockGiteaConnection implements GiteaConnection {
         return this;
     }
 
+    public MockGiteaConnection withFile(GiteaRepository repo, String ref, String path, byte[] content) {
+        this.files.get(keyOf(repo)).computeIfAbsent(ref, k -> new HashMap<>()).put(path, content.clone());
+        return this;
+    }
+
+    public MockGiteaConnection withFile(GiteaRepository repo, String ref, String path, String mode, byte[] content) {
+        this.modes.put(keyOf(repo) + "@" + ref + ":" + path, mode);
+        return withFile(repo, ref, path, content);
+    }
+
+    public MockGiteaConnection withVersion(String version) {
+        this.version = version;
+        return this;
+    }
+
     public MockGiteaConnection withPull(GiteaRepository repo, GiteaPullRequest pull) {
         GiteaPullRequest clone = pull.clone();
         clone.setId(nextId.incrementAndGet());
@@ -140,7 +160,15 @@ public class MockGiteaConnection implements GiteaConnection {
     @Override
     public GiteaVersion fetchVersion() {
         GiteaVersion result = new GiteaVersion();
-        result.setVersion("mock");
+        result.setVersion(version);
+        return result;
+    }
+
+    @Override
+    public GiteaApiSettings fetchApiSettings() {
+        GiteaApiSettings result = new GiteaApiSettings();
+        result.setMaxResponseItems(50);
+        result.setDefaultPagingNum(30);
         return result;
     }
 
@@ -522,6 +550,38 @@ public class MockGiteaConnection implements GiteaConnection {
         return notFoundIfNull(notFoundIfNull(files.get(keyOf(repository))).get(ref)).containsKey(path);
     }
 
+    @Override
+    public GiteaTree fetchTree(GiteaRepository repository, String sha) throws IOException {
+        // the mock only has files, so synthesize the directories from their paths, using the path as the tree SHA
+        String ref = sha;
+        String prefix = "";
+        int index = sha.indexOf(':');
+        if (index != -1) {
+            ref = sha.substring(0, index);
+            prefix = sha.substring(index + 1) + "/";
+        }
+        Map<String, GiteaTree.Entry> entries = new TreeMap<>();
+        for (String path : notFoundIfNull(notFoundIfNull(files.get(keyOf(repository))).get(ref)).keySet()) {
+            if (!path.startsWith(prefix)) {
+                continue;
+            }
+            String name = path.substring(prefix.length());
+            int slash = name.indexOf('/');
+            if (slash == -1) {
+                String mode = modes.getOrDefault(keyOf(repository) + "@" + ref + ":" + path, "100644");
+                entries.put(name, new GiteaTree.Entry(name, mode, "160000".equals(mode) ? "commit" : "blob", 0L,
+                        ref + ":" + path));
+            } else {
+                name = name.substring(0, slash);
+                entries.put(name, new GiteaTree.Entry(name, "040000", "tree", 0L, ref + ":" + prefix + name));
+            }
+        }
+        if (!prefix.isEmpty() && entries.isEmpty()) {
+            throw new GiteaHttpStatusException(404, "Not Found");
+        }
+        return new GiteaTree(sha, new ArrayList<>(entries.values()));
+    }
+
     @Override
     public List<GiteaRelease> fetchReleases(String username, String name, boolean draft, boolean prerelease)
             throws IOException {
@@ -557,7 +617,7 @@ public class MockGiteaConnection implements GiteaConnection {
     @NonNull
     private static <T> T notFoundIfNull(@CheckForNull T value) throws IOException {
         if (value == null) {
-            throw new IOException("HTTP/404 Not Found");
+            throw new GiteaHttpStatusException(404, "Not Found");
         }
         return value;
     }
@@ -5,6 +5,7 @@ import java.util.HashMap;
 import java.util.Map;
 import org.jenkinsci.plugin.gitea.client.api.Gitea;
 import org.jenkinsci.plugin.gitea.client.api.GiteaConnection;
+import org.jenkinsci.plugin.gitea.client.api.GiteaFactories;
 import org.jenkinsci.plugin.gitea.client.spi.GiteaConnectionFactory;
 
 public class MockGiteaConnectionFactory extends GiteaConnectionFactory {
@@ -14,6 +15,8 @@ public class MockGiteaConnectionFactory extends GiteaConnectionFactory {
         synchronized (mocks) {
             mocks.clear();
         }
+        // the factory selected for a server changes as mocks come and go
+        GiteaFactories.reset();
     }
 
     public static <T extends GiteaConnection> T register(@NonNull T mock, @NonNull String serverUrl) {
@@ -21,6 +24,7 @@ public class MockGiteaConnectionFactory extends GiteaConnectionFactory {
         synchronized (mocks) {
             mocks.put(serverUrl, mock);
         }
+        GiteaFactories.reset();
         return mock;
     }
 
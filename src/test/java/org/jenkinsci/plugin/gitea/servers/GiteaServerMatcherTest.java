@@ -0,0 +1,67 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2017, CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugin.gitea.servers;
+
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class GiteaServerMatcherTest {
+
+    @Test
+    void given__server__when__isEventFor__then__host_port_and_path_matched() {
+        GiteaServerMatcher matcher = GiteaServerMatcher.of(Collections.emptyList());
+
+        assertThat(matcher.isEventFor("https://gitea.example.com", "https://Gitea.example.com/bob/project"), is(true));
+        assertThat(matcher.isEventFor("https://gitea.example.com", "http://gitea.example.com/bob/project"), is(true));
+        assertThat(matcher.isEventFor("https://gitea.example.com:8443", "https://gitea.example.com/bob/project"),
+                is(false));
+        assertThat(matcher.isEventFor("http://gitea.example.com:80", "http://gitea.example.com/bob/project"), is(true));
+        assertThat(matcher.isEventFor("https://example.com/gitea", "https://example.com/gitea/bob/project"), is(true));
+        assertThat(matcher.isEventFor("https://example.com/gitea", "https://example.com/other/bob/project"),
+                is(false));
+        assertThat(matcher.isEventFor("https://gitea.example.com", "https://other.example.com/bob/project"),
+                is(false));
+        assertThat(matcher.isEventFor("https://gitea.example.com", "not a url"), is(false));
+        assertThat(matcher.isEventFor(null, "https://gitea.example.com/bob/project"), is(false));
+    }
+
+    @Test
+    void given__alias__when__isEventFor__then__alias_matched() {
+        GiteaServerMatcher matcher = GiteaServerMatcher.of(List.of(new GiteaServer("Gitea", "https://gitea.example.com",
+                false, null, "http://gitea.internal:3000")));
+
+        assertThat(matcher.isEventFor("https://gitea.example.com", "http://gitea.internal:3000/bob/project"),
+                is(true));
+        assertThat(matcher.isEventFor("https://GITEA.example.com/", "http://gitea.internal:3000/bob/project"),
+                is(true));
+        assertThat(matcher.isEventFor("https://gitea.example.com", "http://gitea.internal:3001/bob/project"),
+                is(false));
+        assertThat(GiteaServerMatcher.of(Collections.emptyList())
+                .isEventFor("https://gitea.example.com", "http://gitea.internal:3000/bob/project"), is(false));
+    }
+}